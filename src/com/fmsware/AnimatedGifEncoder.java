@@ -3,6 +3,7 @@ package com.fmsware;
 import java.io.*;
 import java.awt.*;
 import java.awt.image.*;
+import java.util.Arrays;
 
 /**
  * Class AnimatedGifEncoder - Encodes a GIF file consisting of one or
@@ -48,6 +49,11 @@ public class AnimatedGifEncoder {
 	protected boolean firstFrame = true;
 	protected boolean sizeSet = false; // if false, get size from first frame
 	protected int sample = 10; // default sample interval for quantizer
+	protected GifPalette palette = null; // fixed global palette, null to quantize every frame
+	protected boolean deltaFrames = false; // only write the changed part of frames
+	protected byte[] previousPixels; // indexed pixels of the previous frame, for delta frames
+	protected int frameX, frameY, frameW, frameH; // part of the frame that is written
+	protected boolean frameTransparent = false; // unchanged pixels of the frame are transparent
 
 	/**
 	 * Sets the delay time between each frame, or changes it
@@ -101,6 +107,36 @@ public class AnimatedGifEncoder {
 		transparent = c;
 	}
 	
+	/**
+	 * Sets a fixed palette that is used for all frames instead of
+	 * quantizing every frame with NeuQuant. It is written once as global
+	 * color table, the frames have no local color tables. Must be invoked
+	 * before the first image is added.
+	 *
+	 * @param p GifPalette the palette, null to quantize every frame.
+	 */
+	public void setPalette(GifPalette p) {
+		if (started && !firstFrame) return;
+		palette = p;
+	}
+	
+	/**
+	 * Sets if frames after the first should only contain what changed
+	 * since the previous frame. Each frame is then cropped to the rectangle
+	 * around the changed pixels and shown on top of the previous frame.
+	 * Unchanged pixels inside the rectangle become transparent if the
+	 * palette has less than 256 colors, so they compress better. Only used
+	 * together with a fixed palette (see setPalette()), the transparent
+	 * color is ignored then. Must be invoked before the first image is
+	 * added.
+	 *
+	 * @param delta boolean true to write delta frames.
+	 */
+	public void setDeltaFrames(boolean delta) {
+		if (started && !firstFrame) return;
+		deltaFrames = delta;
+	}
+	
 	/**
 	 * Adds next GIF frame.  The frame is not written immediately, but is
 	 * actually deferred until the next frame is received so that timing
@@ -124,21 +160,7 @@ public class AnimatedGifEncoder {
 			image = im;
 			getImagePixels(); // convert to correct format if necessary
 			analyzePixels(); // build color table & map pixels
-			if (firstFrame) {
-				writeLSD(); // logical screen descriptior
-				writePalette(); // global color table
-				if (repeat >= 0) {
-					// use NS app extension to indicate reps
-					writeNetscapeExt();
-				}
-			}
-			writeGraphicCtrlExt(); // write graphic control extension
-			writeImageDesc(); // image descriptor
-			if (!firstFrame) {
-				writePalette(); // local color table
-			}
-			writePixels(); // encode and write pixel data
-			firstFrame = false;
+			writeFrame();
 		} catch (IOException e) {
 			ok = false;
 		}
@@ -146,6 +168,68 @@ public class AnimatedGifEncoder {
 		return ok;
 	}
 	
+	/**
+	 * Converts an image into pixels indexed to the fixed palette, to be
+	 * added by <code>addIndexedFrame</code>. This does not change the
+	 * encoder, so multiple threads can index frames at the same time while
+	 * one thread adds them in order. The palette and the size have to be
+	 * set before.
+	 *
+	 * @param im BufferedImage containing the frame.
+	 * @return the indexed pixels, or null if there is no palette or size.
+	 */
+	public byte[] indexFrame(BufferedImage im) {
+		if ((im == null) || (palette == null) || !sizeSet) {
+			return null;
+		}
+		return mapToPalette(toBGR(im));
+	}
+	
+	/**
+	 * Adds the next GIF frame, already indexed to the fixed palette by
+	 * <code>indexFrame</code>. Frames have to be added in order.
+	 *
+	 * @param indexed byte[] the indexed pixels of the frame.
+	 * @return true if successful.
+	 */
+	public boolean addIndexedFrame(byte[] indexed) {
+		if ((indexed == null) || !started || (palette == null) || !sizeSet
+			|| (indexed.length != width * height)) {
+			return false;
+		}
+		boolean ok = true;
+		try {
+			indexedPixels = indexed;
+			usePalette();
+			writeFrame();
+		} catch (IOException e) {
+			ok = false;
+		}
+		return ok;
+	}
+	
+	/**
+	 * Writes the current indexed frame.
+	 */
+	protected void writeFrame() throws IOException {
+		cropFrame(); // only keep the changed part if delta frames are used
+		if (firstFrame) {
+			writeLSD(); // logical screen descriptior
+			writePalette(); // global color table
+			if (repeat >= 0) {
+				// use NS app extension to indicate reps
+				writeNetscapeExt();
+			}
+		}
+		writeGraphicCtrlExt(); // write graphic control extension
+		writeImageDesc(); // image descriptor
+		if (!firstFrame && palette == null) {
+			writePalette(); // local color table
+		}
+		writePixels(); // encode and write pixel data
+		firstFrame = false;
+	}
+	
 	/**
 	 * Flushes any pending data and closes output file.
 	 * If writing to an OutputStream, the stream is not
@@ -172,6 +256,7 @@ public class AnimatedGifEncoder {
 		pixels = null;
 		indexedPixels = null;
 		colorTab = null;
+		previousPixels = null;
 		closeStream = false;
 		firstFrame = true;
 
@@ -265,6 +350,10 @@ public class AnimatedGifEncoder {
 	 * Analyzes image colors and creates color map.
 	 */
 	protected void analyzePixels() {
+		if (palette != null) {
+			mapPixels();
+			return;
+		}
 		int len = pixels.length;
 		int nPix = len / 3;
 		indexedPixels = new byte[nPix];
@@ -297,6 +386,112 @@ public class AnimatedGifEncoder {
 		}
 	}
 	
+	/**
+	 * Maps image pixels to the fixed palette.
+	 */
+	protected void mapPixels() {
+		indexedPixels = mapToPalette(pixels);
+		pixels = null;
+		usePalette();
+	}
+	
+	/**
+	 * Maps BGR pixels to the fixed palette. Only reads the palette.
+	 */
+	protected byte[] mapToPalette(byte[] bgr) {
+		int nPix = bgr.length / 3;
+		byte[] indexed = new byte[nPix];
+		int k = 0;
+		for (int i = 0; i < nPix; i++) {
+			int b = bgr[k++] & 0xff;
+			int g = bgr[k++] & 0xff;
+			int r = bgr[k++] & 0xff;
+			indexed[i] = (byte) palette.map(r, g, b);
+		}
+		return indexed;
+	}
+	
+	/**
+	 * Sets the color table to the fixed palette for the current indexed
+	 * frame.
+	 */
+	protected void usePalette() {
+		colorTab = palette.getColorTable();
+		colorDepth = 8;
+		palSize = 7;
+		if (transparent != null) {
+			Arrays.fill(usedEntry, false);
+			for (int i = 0; i < indexedPixels.length; i++) {
+				usedEntry[indexedPixels[i] & 0xff] = true;
+			}
+			transIndex = findClosest(transparent);
+		}
+	}
+	
+	/**
+	 * Sets the part of the frame that is written. For delta frames, this
+	 * is the rectangle around the pixels that differ from the previous
+	 * frame, with the unchanged pixels in it set to a free palette index.
+	 */
+	protected void cropFrame() {
+		frameX = 0;
+		frameY = 0;
+		frameW = width;
+		frameH = height;
+		frameTransparent = false;
+		if (!deltaFrames || palette == null) return;
+
+		byte[] current = indexedPixels;
+		byte[] previous = previousPixels;
+		previousPixels = current;
+		if (previous == null) return; // first frame is written completely
+
+		int minX = width, minY = height, maxX = -1, maxY = -1;
+		for (int y = 0; y < height; y++) {
+			int row = y * width;
+			int x = 0;
+			while (x < width && current[row + x] == previous[row + x]) x++;
+			if (x == width) continue; // row unchanged
+			int last = width - 1;
+			while (current[row + last] == previous[row + last]) last--;
+			if (x < minX) minX = x;
+			if (last > maxX) maxX = last;
+			if (minY == height) minY = y;
+			maxY = y;
+		}
+
+		int unused = (palette.size() < 256) ? palette.size() : -1;
+		if (maxY < 0) {
+			// nothing changed, but a frame needs at least one pixel
+			minX = 0;
+			minY = 0;
+			maxX = 0;
+			maxY = 0;
+		}
+		frameX = minX;
+		frameY = minY;
+		frameW = maxX - minX + 1;
+		frameH = maxY - minY + 1;
+		frameTransparent = (unused >= 0);
+
+		byte[] cropped = new byte[frameW * frameH];
+		int k = 0;
+		for (int y = minY; y <= maxY; y++) {
+			int row = y * width;
+			for (int x = minX; x <= maxX; x++) {
+				byte pixel = current[row + x];
+				if (frameTransparent && pixel == previous[row + x]) {
+					pixel = (byte) unused;
+				}
+				cropped[k++] = pixel;
+			}
+		}
+		indexedPixels = cropped;
+		if (frameTransparent) {
+			transIndex = unused;
+		}
+	}
+	
 	/**
 	 * Returns index of palette color closest to c
 	 *
@@ -328,9 +523,16 @@ public class AnimatedGifEncoder {
 	 * Extracts image pixels into byte array "pixels"
 	 */
 	protected void getImagePixels() {
-		int w = image.getWidth();
-		int h = image.getHeight();
-		int type = image.getType();
+		pixels = toBGR(image);
+	}
+	
+	/**
+	 * Returns the pixels of the image as BGR byte array of the frame size
+	 */
+	protected byte[] toBGR(BufferedImage im) {
+		int w = im.getWidth();
+		int h = im.getHeight();
+		int type = im.getType();
 		if ((w != width)
 			|| (h != height)
 			|| (type != BufferedImage.TYPE_3BYTE_BGR)) {
@@ -338,10 +540,10 @@ public class AnimatedGifEncoder {
 			BufferedImage temp =
 				new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
 			Graphics2D g = temp.createGraphics();
-			g.drawImage(image, 0, 0, null);
-			image = temp;
+			g.drawImage(im, 0, 0, null);
+			im = temp;
 		}
-		pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+		return ((DataBufferByte) im.getRaster().getDataBuffer()).getData();
 	}
 	
 	/**
@@ -352,7 +554,10 @@ public class AnimatedGifEncoder {
 		out.write(0xf9); // GCE label
 		out.write(4); // data block size
 		int transp, disp;
-		if (transparent == null) {
+		if (deltaFrames && palette != null) {
+			transp = frameTransparent ? 1 : 0;
+			disp = 1; // keep the frame, the next one is drawn on top of it
+		} else if (transparent == null) {
 			transp = 0;
 			disp = 0; // dispose = no action
 		} else {
@@ -380,13 +585,13 @@ public class AnimatedGifEncoder {
 	 */
 	protected void writeImageDesc() throws IOException {
 		out.write(0x2c); // image separator
-		writeShort(0); // image position x,y = 0,0
-		writeShort(0);
-		writeShort(width); // image size
-		writeShort(height);
+		writeShort(frameX); // image position x,y
+		writeShort(frameY);
+		writeShort(frameW); // image size
+		writeShort(frameH);
 		// packed fields
-		if (firstFrame) {
-			// no LCT  - GCT is used for first (or only) frame
+		if (firstFrame || palette != null) {
+			// no LCT  - GCT is used for first (or only) frame, or all frames if fixed
 			out.write(0);
 		} else {
 			// specify normal LCT
@@ -446,7 +651,7 @@ public class AnimatedGifEncoder {
 	 */
 	protected void writePixels() throws IOException {
 		LZWEncoder encoder =
-			new LZWEncoder(width, height, indexedPixels, colorDepth);
+			new LZWEncoder(frameW, frameH, indexedPixels, colorDepth);
 		encoder.encode(out);
 	}
 	
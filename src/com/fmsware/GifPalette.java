@@ -0,0 +1,290 @@
+package com.fmsware;
+
+import java.util.Arrays;
+
+/**
+ * Class GifPalette - A fixed color table of up to 256 colors that is used
+ * for all frames of a GIF, so the frames don't have to be quantized one by
+ * one and their colors stay the same from frame to frame.
+ * <pre>
+ * Example:
+ *    GifPalette p = GifPalette.create(colors, new int[] {background});
+ *    AnimatedGifEncoder e = new AnimatedGifEncoder();
+ *    e.setPalette(p);
+ *    e.start(outputFileName);
+ *    ...
+ * </pre>
+ * Colors of the palette are mapped to their exact index by a hash table,
+ * all other colors go through a precomputed table of the nearest palette
+ * entry for every RGB color (5 bits per channel). Instances are immutable
+ * and can be used by multiple threads.
+ *
+ * @author klaue
+ */
+
+public class GifPalette {
+
+	protected static final int maxColors = 256;
+	protected static final int inverseBits = 5; // bits per channel of the inverse map
+
+	protected byte[] colorTab; // RGB palette, always 256 entries
+	protected int size; // number of used entries
+	protected int[] hashKeys; // rgb | 0x1000000 of the palette colors, 0 = empty
+	protected byte[] hashValues; // palette index of the keys
+	protected byte[] inverseMap; // nearest palette index of every 15 bit color
+
+	/**
+	 * Creates a palette for the given colors. If there are at most 256
+	 * different ones, every color gets its own entry and is mapped exactly.
+	 * Else, NeuQuant is trained once on the colors to get 256 entries that
+	 * fit them best, and the fixed colors replace the closest of them.
+	 *
+	 * @param colors int[] the RGB colors (as in Color.getRGB(), alpha is ignored).
+	 * Colors that occur more often get more weight when quantizing.
+	 * @param fixedColors int[] colors that must be mapped exactly, like the
+	 * background. At most 256, may be null.
+	 * @return the palette.
+	 */
+	public static GifPalette create(int[] colors, int[] fixedColors) {
+		return create(colors, fixedColors, maxColors);
+	}
+
+	/**
+	 * Creates a palette for the given colors with at most maxSize entries,
+	 * see create(int[], int[]). Use less than 256 entries to keep an index
+	 * free for transparency, as needed for delta frames.
+	 *
+	 * @param colors int[] the RGB colors (as in Color.getRGB(), alpha is ignored).
+	 * Colors that occur more often get more weight when quantizing.
+	 * @param fixedColors int[] colors that must be mapped exactly, like the
+	 * background. At most maxSize, may be null.
+	 * @param maxSize int the maximum number of entries (1-256).
+	 * @return the palette.
+	 */
+	public static GifPalette create(int[] colors, int[] fixedColors, int maxSize) {
+		if (maxSize < 1 || maxSize > maxColors) {
+			throw new IllegalArgumentException("Invalid palette size: " + maxSize);
+		}
+		if (fixedColors == null) fixedColors = new int[0];
+		if (fixedColors.length > maxSize) {
+			throw new IllegalArgumentException("Too many fixed colors: " + fixedColors.length);
+		}
+		int[] all = new int[colors.length + fixedColors.length];
+		for (int i = 0; i < fixedColors.length; i++) {
+			all[i] = fixedColors[i] & 0xffffff;
+		}
+		for (int i = 0; i < colors.length; i++) {
+			all[fixedColors.length + i] = colors[i] & 0xffffff;
+		}
+		int[] distinct = distinct(all);
+
+		if (distinct.length <= maxSize) {
+			return new GifPalette(distinct);
+		}
+
+		// too many colors: quantize them once. Colors that occur more often
+		// get more weight
+		byte[] bgr = new byte[all.length * 3];
+		for (int i = 0, k = 0; i < all.length; i++) {
+			bgr[k++] = (byte) all[i];
+			bgr[k++] = (byte) (all[i] >> 8);
+			bgr[k++] = (byte) (all[i] >> 16);
+		}
+		NeuQuant nq = new NeuQuant(bgr, bgr.length, 10);
+		byte[] map = nq.process();
+		int[] quantized = new int[maxColors];
+		for (int i = 0; i < maxColors; i++) {
+			quantized[i] = ((map[i * 3 + 2] & 0xff) << 16)
+				| ((map[i * 3 + 1] & 0xff) << 8)
+				| (map[i * 3] & 0xff);
+		}
+		// the fixed colors replace the entries closest to them
+		boolean[] isFixed = new boolean[maxColors];
+		int[] fixed = distinct(fixedColors);
+		for (int i = 0; i < fixed.length; i++) {
+			int best = -1;
+			int dmin = Integer.MAX_VALUE;
+			for (int j = 0; j < maxColors; j++) {
+				int d = distance(fixed[i] & 0xffffff, quantized[j]);
+				if (!isFixed[j] && d < dmin) {
+					dmin = d;
+					best = j;
+				}
+			}
+			quantized[best] = fixed[i] & 0xffffff;
+			isFixed[best] = true;
+		}
+		// drop entries that are closest to another one until it is small enough
+		int size = maxColors;
+		while (size > maxSize) {
+			int drop = -1;
+			int dmin = Integer.MAX_VALUE;
+			for (int i = 0; i < size; i++) {
+				if (isFixed[i]) continue;
+				for (int j = 0; j < size; j++) {
+					int d = distance(quantized[i], quantized[j]);
+					if (i != j && d < dmin) {
+						dmin = d;
+						drop = i;
+					}
+				}
+			}
+			size--;
+			quantized[drop] = quantized[size];
+			isFixed[drop] = isFixed[size];
+		}
+		return new GifPalette(distinct(Arrays.copyOf(quantized, size)));
+	}
+
+	/**
+	 * Creates a palette with the given colors. Use create() to get one
+	 * for any number of colors.
+	 *
+	 * @param colors int[] at most 256 different RGB colors.
+	 */
+	public GifPalette(int[] colors) {
+		if (colors.length > maxColors) {
+			throw new IllegalArgumentException("Too many colors: " + colors.length);
+		}
+		size = colors.length;
+		colorTab = new byte[maxColors * 3];
+		hashKeys = new int[maxColors * 2];
+		hashValues = new byte[maxColors * 2];
+		for (int i = 0; i < size; i++) {
+			int rgb = colors[i] & 0xffffff;
+			colorTab[i * 3] = (byte) (rgb >> 16);
+			colorTab[i * 3 + 1] = (byte) (rgb >> 8);
+			colorTab[i * 3 + 2] = (byte) rgb;
+
+			int pos = hash(rgb);
+			while (hashKeys[pos] != 0 && hashKeys[pos] != (rgb | 0x1000000)) {
+				pos = (pos + 1) & (hashKeys.length - 1);
+			}
+			if (hashKeys[pos] == 0) { // first one wins
+				hashKeys[pos] = rgb | 0x1000000;
+				hashValues[pos] = (byte) i;
+			}
+		}
+		buildInverseMap();
+	}
+
+	/**
+	 * Gets the palette index of a color. Colors of the palette get their
+	 * own index, others the index of the nearest palette color.
+	 *
+	 * @param r int red value (0-255).
+	 * @param g int green value (0-255).
+	 * @param b int blue value (0-255).
+	 * @return the index.
+	 */
+	public int map(int r, int g, int b) {
+		int key = (r << 16) | (g << 8) | b | 0x1000000;
+		int pos = hash(key & 0xffffff);
+		int k;
+		while ((k = hashKeys[pos]) != 0) {
+			if (k == key) return hashValues[pos] & 0xff;
+			pos = (pos + 1) & (hashKeys.length - 1);
+		}
+		int shift = 8 - inverseBits;
+		return inverseMap[((r >> shift) << (2 * inverseBits))
+			| ((g >> shift) << inverseBits)
+			| (b >> shift)] & 0xff;
+	}
+
+	/**
+	 * Returns the color table as written into the GIF: 256 RGB entries,
+	 * unused ones are black. Don't change it.
+	 *
+	 * @return the color table.
+	 */
+	public byte[] getColorTable() {
+		return colorTab;
+	}
+
+	/**
+	 * @return the number of colors in the palette.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Fills the inverse map with the palette entry nearest to the center
+	 * of each cell
+	 */
+	protected void buildInverseMap() {
+		int cells = 1 << inverseBits;
+		int shift = 8 - inverseBits;
+		int half = 1 << (shift - 1);
+		inverseMap = new byte[cells * cells * cells];
+		if (size == 0) return;
+		int[] rgb = new int[size];
+		for (int i = 0; i < size; i++) {
+			rgb[i] = ((colorTab[i * 3] & 0xff) << 16)
+				| ((colorTab[i * 3 + 1] & 0xff) << 8)
+				| (colorTab[i * 3 + 2] & 0xff);
+		}
+		int cell = 0;
+		for (int r = 0; r < cells; r++) {
+			for (int g = 0; g < cells; g++) {
+				for (int b = 0; b < cells; b++) {
+					int c = (((r << shift) + half) << 16)
+						| (((g << shift) + half) << 8)
+						| ((b << shift) + half);
+					int best = 0;
+					int dmin = Integer.MAX_VALUE;
+					for (int i = 0; i < size; i++) {
+						int d = distance(c, rgb[i]);
+						if (d < dmin) {
+							dmin = d;
+							best = i;
+						}
+					}
+					inverseMap[cell++] = (byte) best;
+				}
+			}
+		}
+	}
+
+	protected static int hash(int rgb) {
+		int h = rgb * 0x9E3779B1;
+		return (h >>> 23) & (maxColors * 2 - 1);
+	}
+
+	protected static int distance(int rgb1, int rgb2) {
+		int dr = ((rgb1 >> 16) & 0xff) - ((rgb2 >> 16) & 0xff);
+		int dg = ((rgb1 >> 8) & 0xff) - ((rgb2 >> 8) & 0xff);
+		int db = (rgb1 & 0xff) - (rgb2 & 0xff);
+		return dr * dr + dg * dg + db * db;
+	}
+
+	/**
+	 * Returns the different colors of the array, keeping the order of
+	 * their first occurrence
+	 */
+	protected static int[] distinct(int[] colors) {
+		int[] sorted = new int[colors.length];
+		for (int i = 0; i < colors.length; i++) {
+			sorted[i] = colors[i] & 0xffffff;
+		}
+		Arrays.sort(sorted);
+		int count = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (i == 0 || sorted[i] != sorted[i - 1]) sorted[count++] = sorted[i];
+		}
+		sorted = Arrays.copyOf(sorted, count);
+
+		// keep the original order so the fixed colors come first
+		boolean[] added = new boolean[count];
+		int[] result = new int[count];
+		int n = 0;
+		for (int i = 0; i < colors.length && n < count; i++) {
+			int pos = Arrays.binarySearch(sorted, colors[i] & 0xffffff);
+			if (!added[pos]) {
+				added[pos] = true;
+				result[n++] = sorted[pos];
+			}
+		}
+		return result;
+	}
+}
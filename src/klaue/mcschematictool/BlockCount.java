@@ -0,0 +1,213 @@
+package klaue.mcschematictool;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+
+import klaue.mcschematictool.blocktypes.Bed;
+import klaue.mcschematictool.blocktypes.Block;
+import klaue.mcschematictool.blocktypes.Door;
+import klaue.mcschematictool.blocktypes.Furnace;
+import klaue.mcschematictool.blocktypes.PoweredRail;
+import klaue.mcschematictool.blocktypes.RedstoneTorch;
+
+/**
+ * The number of blocks per id and data, as counted by SliceStack.countBlocks(). The counts are kept in an open addressing hash map
+ * of the packed id and data, so counting needs no objects and no names. Resolve names and images once per key when done, see getKeys()
+ * @author klaue
+ */
+public class BlockCount {
+	private static final int EMPTY = -1;
+
+	// open addressing hash map, packed id and data -> amount
+	private int[] keys = new int[64];
+	private int[] amounts = new int[64];
+	private int size = 0;
+
+	/**
+	 * Returns an empty count
+	 */
+	public BlockCount() {
+		Arrays.fill(this.keys, EMPTY);
+	}
+
+	/**
+	 * Adds to the amount of blocks with the given id and data
+	 * @param id the block or item id
+	 * @param data the data, -1 for the default
+	 * @param amount how many blocks to add
+	 */
+	public void add(short id, byte data, int amount) {
+		add(packKey(id, data), amount);
+	}
+
+	/**
+	 * Adds a block as the item needed to build it. Blocks that consist of two parts (beds and doors) are counted once, blocks that
+	 * are placed as an item (like redstone wire or signs) are counted as that item and blocks that only differ in being on or off are
+	 * counted as the same block
+	 * @param b the block
+	 * @param amount how many blocks to add
+	 */
+	void addAsMaterial(Block b, int amount) {
+		short id = b.getId();
+		byte data = b.getData();
+
+		if (b.isBed()) {
+			if (((Bed)b).isFoot()) return; // only count head as "Bed"
+			id = (short)355; // item id
+		} else if (b.isDoor()) {
+			Door door = (Door)b;
+			if (door.isBottomHalf()) return; // only count top half as door
+			if (door.getDoorType() == Door.DoorType.IRON) {
+				id = (short)324; // item id
+			} else {
+				id = (short)330; // item id
+			}
+		} else if (b.isFurnace() && ((Furnace)b).isOn()) {
+			id = (short)61; // furnace off
+		} else if (b.isRedstoneTorch() && !((RedstoneTorch)b).isOn()) {
+			id = (short)76; // burning rs torch
+		} else if (id == 74) { // glowing redstone ore
+			id = (short)73; // redstone ore (w/o glowing)
+		} else if (b.isPoweredRail() && !((PoweredRail)b).isOn()) {
+			data = -1; // default value
+		} else if (b.isRepeater()) {
+			id = (short)356; // item id
+		} else if (b.isRedstoneWire()) {
+			id = (short)331; // item id of redstone
+		} else if (b.isTripwire()) {
+			id = (short)287; // item id of string
+		} else if (b.isSign()) {
+			// both wall and freestanding sign replaced by item id
+			id = (short)323;
+		}
+		add(id, data, amount);
+	}
+
+	/**
+	 * Adds all amounts of another count to this one
+	 * @param other the other count
+	 */
+	public void merge(BlockCount other) {
+		for (int i = 0; i < other.keys.length; ++i) {
+			if (other.keys[i] != EMPTY) add(other.keys[i], other.amounts[i]);
+		}
+	}
+
+	/**
+	 * Gets the amount of blocks with the given id and data
+	 * @param id the block or item id
+	 * @param data the data, -1 for the default
+	 * @return the amount, 0 if there are none
+	 */
+	public int getAmount(short id, byte data) {
+		return getAmount(packKey(id, data));
+	}
+
+	/**
+	 * Gets the amount of blocks with the given key
+	 * @param key the key, see getKeys()
+	 * @return the amount, 0 if there are none
+	 */
+	public int getAmount(int key) {
+		int slot = findSlot(key);
+		return (this.keys[slot] == key) ? this.amounts[slot] : 0;
+	}
+
+	/**
+	 * Gets all counted id and data pairs, packed into an int. Use getId() and getData() to unpack them
+	 * @return the keys, in no particular order
+	 */
+	public int[] getKeys() {
+		int[] result = new int[this.size];
+		int i = 0;
+		for (int key : this.keys) {
+			if (key != EMPTY) result[i++] = key;
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the amounts per name of the block or item. The name is resolved once per key and blocks with the same name are
+	 * counted together
+	 * @return the amounts per name, sorted by name
+	 */
+	public TreeMap<String, Integer> getAmountsByName() {
+		TreeMap<String, Integer> byName = new TreeMap<String, Integer>();
+		for (int i = 0; i < this.keys.length; ++i) {
+			if (this.keys[i] == EMPTY) continue;
+			String name = NameProvider.getNameOfBlockOrItem(getId(this.keys[i]), getData(this.keys[i]));
+			Integer amount = byName.get(name);
+			byName.put(name, (amount == null) ? this.amounts[i] : amount + this.amounts[i]);
+		}
+		return byName;
+	}
+
+	/**
+	 * @return the number of different id and data pairs
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the id of a key
+	 * @param key the key, see getKeys()
+	 * @return the id
+	 */
+	public static short getId(int key) {
+		return (short)(key >>> 8);
+	}
+
+	/**
+	 * Gets the data of a key
+	 * @param key the key, see getKeys()
+	 * @return the data
+	 */
+	public static byte getData(int key) {
+		return (byte)key;
+	}
+
+	private void add(int key, int amount) {
+		int slot = findSlot(key);
+		if (this.keys[slot] == key) {
+			this.amounts[slot] += amount;
+			return;
+		}
+
+		// keep the load factor below 0.5
+		if ((this.size + 1) * 2 > this.keys.length) {
+			int[] oldKeys = this.keys;
+			int[] oldAmounts = this.amounts;
+			this.keys = new int[oldKeys.length * 2];
+			this.amounts = new int[oldKeys.length * 2];
+			Arrays.fill(this.keys, EMPTY);
+			for (int i = 0; i < oldKeys.length; ++i) {
+				if (oldKeys[i] == EMPTY) continue;
+				int newSlot = findSlot(oldKeys[i]);
+				this.keys[newSlot] = oldKeys[i];
+				this.amounts[newSlot] = oldAmounts[i];
+			}
+			slot = findSlot(key);
+		}
+		this.keys[slot] = key;
+		this.amounts[slot] = amount;
+		++this.size;
+	}
+
+	/**
+	 * Returns the slot of the key or the empty slot where it would be inserted
+	 */
+	private int findSlot(int key) {
+		int mask = this.keys.length - 1;
+		int hash = key * 0x9E3779B9;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (this.keys[slot] != EMPTY && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int packKey(short id, byte data) {
+		return ((id & 0xFFFF) << 8) | (data & 0xFF);
+	}
+}
@@ -0,0 +1,186 @@
+package klaue.mcschematictool;
+
+import java.util.Arrays;
+
+import klaue.mcschematictool.blocktypes.Block;
+
+/**
+ * The palette of a slice: a list of the distinct block states the slice uses. The slice itself only saves an index into the palette
+ * per position.<br>
+ * There are two kinds of entries: shared entries are plain blocks that are fully described by their id and data, so all positions
+ * with the same id and data point to the same Block instance (a flyweight). Unique entries are blocks with their own state (tile entities
+ * like chests and signs or redstone wires with a calculated direction), they are used by exactly one position.
+ * @author klaue
+ */
+public class BlockPalette {
+	private static final int EMPTY = -1;
+
+	private Block[] states = new Block[16];
+	private short[] ids = new short[16]; // copy of the ids for fast air checks without going through the block
+	private boolean[] shared = new boolean[16];
+	private int size = 0;
+
+	// open addressing hash map of the shared entries, packed id and data -> index in states
+	private int[] keys = new int[32];
+	private int[] values = new int[32];
+	private int sharedCount = 0;
+
+	/**
+	 * Returns a new palette that contains a shared air block at index 0
+	 */
+	public BlockPalette() {
+		Arrays.fill(this.keys, EMPTY);
+		getSharedIndex((short)0, (byte)0);
+	}
+
+	/**
+	 * Gets the index of the shared entry for the given id and data. If there's no such entry yet, a new one is generated by
+	 * Block.getInstance(), so this may throw every exception the block constructors throw for invalid data
+	 * @param id the block id
+	 * @param data the block data
+	 * @return the index of the shared entry
+	 */
+	public int getSharedIndex(short id, byte data) {
+		int key = packKey(id, data);
+		int slot = findSlot(key);
+		if (this.keys[slot] == key) {
+			return this.values[slot];
+		}
+
+		Block block = Block.getInstance(id, data);
+		int index = append(block, true);
+		putShared(key, index);
+		return index;
+	}
+
+	/**
+	 * Adds a block with its own state to the palette. The block will not be shared with other positions
+	 * @param block the block
+	 * @return the index of the new entry
+	 */
+	public int addUnique(Block block) {
+		if (block == null) throw new IllegalArgumentException("A null block is not allowed");
+		return append(block, false);
+	}
+
+	/**
+	 * Replaces an unique entry with the given block
+	 * @param index the index of the unique entry
+	 * @param block the new block
+	 * @throws IllegalArgumentException if the entry at index is a shared one
+	 */
+	public void replaceUnique(int index, Block block) {
+		if (block == null) throw new IllegalArgumentException("A null block is not allowed");
+		if (this.shared[index]) throw new IllegalArgumentException("Entry " + index + " is shared and can not be replaced");
+		this.states[index] = block;
+		this.ids[index] = block.getId();
+	}
+
+	/**
+	 * Gets the block at the given index. Note that shared blocks are used by multiple positions, so don't change them
+	 * @param index the index
+	 * @return the block
+	 */
+	public Block get(int index) {
+		if (index >= this.size) throw new IndexOutOfBoundsException(index + " not in palette");
+		return this.states[index];
+	}
+
+	/**
+	 * Gets the id of the block at the given index without going through the block itself
+	 * @param index the index
+	 * @return the block id
+	 */
+	public short getId(int index) {
+		return this.ids[index];
+	}
+
+	/**
+	 * Checks if the entry at the given index is shared between multiple positions
+	 * @param index the index
+	 * @return true if shared
+	 */
+	public boolean isShared(int index) {
+		return this.shared[index];
+	}
+
+	/**
+	 * @return the number of entries in the palette
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Rotates all blocks in the palette. Since every block is in here once, this has to be done only once per state and not once per position
+	 * @param CW true for clockwise rotation
+	 */
+	public void turn(boolean CW) {
+		for (int i = 0; i < this.size; ++i) {
+			this.states[i].turn(CW);
+			this.ids[i] = this.states[i].getId();
+		}
+
+		// the data of directional blocks changed, so the shared keys have to be rebuilt
+		Arrays.fill(this.keys, EMPTY);
+		this.sharedCount = 0;
+		for (int i = 0; i < this.size; ++i) {
+			if (!this.shared[i]) continue;
+			int key = packKey(this.states[i].getId(), this.states[i].getData());
+			if (this.keys[findSlot(key)] != key) {
+				putShared(key, i);
+			}
+		}
+	}
+
+	private int append(Block block, boolean isShared) {
+		if (this.size == this.states.length) {
+			int newLength = this.states.length * 2;
+			this.states = Arrays.copyOf(this.states, newLength);
+			this.ids = Arrays.copyOf(this.ids, newLength);
+			this.shared = Arrays.copyOf(this.shared, newLength);
+		}
+		this.states[this.size] = block;
+		this.ids[this.size] = block.getId();
+		this.shared[this.size] = isShared;
+		return this.size++;
+	}
+
+	private void putShared(int key, int index) {
+		// keep the load factor below 0.5
+		if ((this.sharedCount + 1) * 2 > this.keys.length) {
+			int[] oldKeys = this.keys;
+			int[] oldValues = this.values;
+			this.keys = new int[oldKeys.length * 2];
+			this.values = new int[oldKeys.length * 2];
+			Arrays.fill(this.keys, EMPTY);
+			for (int i = 0; i < oldKeys.length; ++i) {
+				if (oldKeys[i] == EMPTY) continue;
+				int slot = findSlot(oldKeys[i]);
+				this.keys[slot] = oldKeys[i];
+				this.values[slot] = oldValues[i];
+			}
+		}
+		int slot = findSlot(key);
+		this.keys[slot] = key;
+		this.values[slot] = index;
+		++this.sharedCount;
+	}
+
+	/**
+	 * Returns the slot of the key or the empty slot where it would be inserted
+	 */
+	private int findSlot(int key) {
+		int mask = this.keys.length - 1;
+		int hash = key * 0x9E3779B9;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (this.keys[slot] != EMPTY && this.keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int packKey(short id, byte data) {
+		return ((id & 0xFFFF) << 8) | (data & 0xFF);
+	}
+}
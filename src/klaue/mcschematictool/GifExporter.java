@@ -0,0 +1,133 @@
+package klaue.mcschematictool;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fmsware.AnimatedGifEncoder;
+import com.fmsware.GifPalette;
+
+/**
+ * Exports all layers of an ImageGridStack to an animated gif, one frame per layer.<br>
+ * The export is a pipeline: the layers are rendered and mapped to one palette for all layers on a fixed number of worker threads,
+ * while the calling thread compresses the finished frames in order and writes them (as delta frames, see
+ * AnimatedGifEncoder.setDeltaFrames()). At most maxInFlight frames are being rendered or waiting to be written at the same time,
+ * so the memory needed stays bounded no matter how many layers there are
+ * @author klaue
+ */
+public class GifExporter {
+	private ImageGridStack grids;
+	private Color background;
+	private Color gridLines;
+	private int threads;
+	private int maxInFlight;
+
+	/**
+	 * Initializes the exporter with one worker per processor
+	 * @param grids the layers to export
+	 * @param background the background color to use
+	 * @param gridLines the color to use for the grid lines
+	 */
+	public GifExporter(ImageGridStack grids, Color background, Color gridLines) {
+		this(grids, background, gridLines, Runtime.getRuntime().availableProcessors(), 2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Initializes the exporter
+	 * @param grids the layers to export
+	 * @param background the background color to use
+	 * @param gridLines the color to use for the grid lines
+	 * @param threads the number of render workers
+	 * @param maxInFlight the maximum number of frames that are rendered or waiting to be written at the same time, at least threads
+	 */
+	public GifExporter(ImageGridStack grids, Color background, Color gridLines, int threads, int maxInFlight) {
+		if (threads < 1) throw new IllegalArgumentException("Need at least one thread");
+		this.grids = grids;
+		this.background = background;
+		this.gridLines = gridLines;
+		this.threads = threads;
+		this.maxInFlight = Math.max(threads, maxInFlight);
+	}
+
+	/**
+	 * Exports all layers into the given file
+	 * @param target the gif file
+	 * @param delayMillis the time each layer is shown
+	 * @throws IOException if the file could not be written
+	 */
+	public void export(File target, int delayMillis) throws IOException {
+		final int layerCount = this.grids.getStackSize();
+		if (layerCount == 0) throw new IOException("Nothing to export");
+
+		// one palette for all layers, built from the block images, so no layer has to be quantized. One index is kept free
+		// for the transparent pixels of the delta frames
+		GifPalette palette = GifPalette.create(this.grids.getExportColors(this.background),
+				new int[] {this.background.getRGB(), this.gridLines.getRGB()}, 255);
+
+		final AnimatedGifEncoder encoder = new AnimatedGifEncoder();
+		Dimension size = this.grids.getGridAtLevel(0).getMinimumSize();
+		encoder.setSize(size.width, size.height);
+		encoder.setPalette(palette);
+		encoder.setDeltaFrames(true); // layers often share walls and air, only write what changed
+		encoder.setDelay(delayMillis);
+		encoder.setRepeat(0);
+		encoder.setTransparent(null);
+		if (!encoder.start(target.getAbsolutePath())) {
+			throw new IOException("Could not write " + target.getName());
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(this.threads, layerCount));
+		ArrayDeque<Future<byte[]>> inFlight = new ArrayDeque<Future<byte[]>>(this.maxInFlight);
+		boolean finished = false;
+		try {
+			int nextLayer = 0;
+			while (nextLayer < layerCount || !inFlight.isEmpty()) {
+				// start new layers until the limit is reached
+				while (nextLayer < layerCount && inFlight.size() < this.maxInFlight) {
+					final int layer = nextLayer;
+					inFlight.add(pool.submit(new Callable<byte[]>() {
+						@Override
+						public byte[] call() {
+							ImageGrid grid = GifExporter.this.grids.getGridAtLevel(layer);
+							return encoder.indexFrame(grid.exportImage(GifExporter.this.background, GifExporter.this.gridLines));
+						}
+					}));
+					++nextLayer;
+				}
+
+				// writer stage: compress and write the oldest layer, so the order stays the same
+				byte[] frame = takeResult(inFlight.poll());
+				if (frame == null) continue; // empty layer, there is no image to add
+				if (!encoder.addIndexedFrame(frame)) {
+					throw new IOException("Could not write " + target.getName());
+				}
+			}
+			finished = encoder.finish();
+			if (!finished) throw new IOException("Could not write " + target.getName());
+		} finally {
+			pool.shutdownNow();
+			if (!finished) encoder.finish(); // closes the file
+		}
+	}
+
+	private static byte[] takeResult(Future<byte[]> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Export interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Error) throw (Error)cause; // like OutOfMemoryError
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			throw new IOException(cause);
+		}
+	}
+}
@@ -6,12 +6,18 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.MouseInfo;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Date;
 
 import javax.swing.JComponent;
@@ -36,6 +42,7 @@ public class ImageGrid extends JComponent implements Printable, MouseListener {
 	private Point markedBlock = null;
 	
 	private static Dimension imgDim = new Dimension(16, 16);
+	private static final int EXPORT_STRIP_PIXELS = 1024 * 1024; // pixels per strip in exportPNG, 4 MB
 	
 	/**
 	 * An ImageGrid with the given images, black grid lines and a red marker.
@@ -141,111 +148,143 @@ public class ImageGrid extends JComponent implements Printable, MouseListener {
 	
 	@Override
 	public void paint(Graphics g) {
+		if (this.slice == null || this.slice.getWidth() == 0 || this.slice.getHeight() == 0) {
+			super.paint(g);
+		} else {
+			paintGrid(g, this.gridColor, this.markColor);
+		}
+	}
+	
+	/**
+	 * Paints the blocks and lines with the given colors, without changing the colors of this grid (so it can be used to export a grid that is
+	 * shown at the same time). The slice must not be empty
+	 * @param g the graphics to paint on
+	 * @param gridColor the color of the grid lines
+	 * @param markColor the color of the marked block
+	 */
+	private void paintGrid(Graphics g, Color gridColor, Color markColor) {
 		int hzBlockNum = this.slice.getWidth();
 		int vtBlockNum = this.slice.getHeight();
+		int imgWidth = (int)(imgDim.width * this.zoom);
+		int imgHeight = (int)(imgDim.height * this.zoom);
+		int thisWidth = this.getPreferredSize().width;
+		int thisHeight = this.getPreferredSize().height;
 		
-		if (this.slice == null || hzBlockNum == 0 || vtBlockNum == 0) {
-			super.paint(g);
-		} else {
-			int imgWidth = (int)(imgDim.width * this.zoom);
-			int imgHeight = (int)(imgDim.height * this.zoom);
-			int thisWidth = this.getPreferredSize().width;
-			int thisHeight = this.getPreferredSize().height;
+		// only paint what's inside the clip, e.g. the visible part when inside a scroll pane
+		Rectangle clip = g.getClipBounds();
+		if (clip == null) {
+			clip = new Rectangle(0, 0, thisWidth, thisHeight);
+		}
+		int minXPx = Math.max(clip.x, 0);
+		int maxXPx = Math.min(clip.x + clip.width, thisWidth) - 1;
+		int minYPx = Math.max(clip.y, 0);
+		int maxYPx = Math.min(clip.y + clip.height, thisHeight) - 1;
+		if (minXPx > maxXPx || minYPx > maxYPx) return;
+		
+		// one more block on each side, the border of the marked block is drawn onto the lines around it
+		int firstX = Math.max(getBlockAtPixel(minXPx, imgWidth) - 1, 0);
+		int lastX = Math.min(getBlockAtPixel(maxXPx, imgWidth) + 1, hzBlockNum - 1);
+		int firstY = Math.max(getBlockAtPixel(minYPx, imgHeight) - 1, 0);
+		int lastY = Math.min(getBlockAtPixel(maxYPx, imgHeight) + 1, vtBlockNum - 1);
+		
+		// draw grid lines
+		g.setColor(gridColor);
+		// vert
+		for (int x = firstX; x <= lastX && x < hzBlockNum - 1; ++x) {
+			int xPx = getPixelOfBlock(x, imgWidth) + imgWidth;
+			g.drawLine(xPx, minYPx, xPx, maxYPx);
 			
-			// draw grid lines
-			g.setColor(this.gridColor);
-			// vert
-			int xPx = imgWidth;
-			for (int x = 0; x < hzBlockNum - 1; ++x) {
-				g.drawLine(xPx, 0, xPx, thisHeight - 1);
-				
-				if ((x + 1) % 5 == 0) {
-					// double line
-					g.drawLine(xPx + 1, 0, xPx + 1, thisHeight - 1);
-					xPx = xPx + imgWidth + 2;
-				} else {
-					xPx = xPx + imgWidth + 1;
-				}
+			if ((x + 1) % 5 == 0) {
+				// double line
+				g.drawLine(xPx + 1, minYPx, xPx + 1, maxYPx);
+			}
+		}
+		// horz
+		for (int y = firstY; y <= lastY && y < vtBlockNum - 1; ++y) {
+			int yPx = getPixelOfBlock(y, imgHeight) + imgHeight;
+			g.drawLine(minXPx, yPx, maxXPx, yPx);
+			
+			if ((y + 1) % 5 == 0) {
+				// double line
+				g.drawLine(minXPx, yPx + 1, maxXPx, yPx + 1);
 			}
-			// horz
-			int yPx = imgHeight;
-			for (int y = 0; y < vtBlockNum - 1; ++y) {
-				g.drawLine(0, yPx, thisWidth - 1, yPx);
+		}
+		
+		
+		// draw block images
+		for (int y = firstY; y <= lastY; ++y) {
+			int yPx = getPixelOfBlock(y, imgHeight);
+			for (int x = firstX; x <= lastX; ++x) {
+				int xPx = getPixelOfBlock(x, imgWidth);
+				Block block = this.slice.getBlockAt(x, y);
 				
-				if ((y + 1) % 5 == 0) {
-					// double line
-					g.drawLine(0, yPx + 1, thisWidth - 1, yPx + 1);
-					yPx = yPx + imgHeight + 2;
-				} else {
-					yPx = yPx + imgHeight + 1;
+				if (block.getId() != 0) {
+					BufferedImage img = block.getImage(this.zoom);
+					g.drawImage(img, xPx, yPx, null); // see javadoc for more info on the parameters
 				}
-			}
-			
-			
-			// draw block images
-			xPx = 0;
-			yPx = 0;
-			for (int y = 0; y < vtBlockNum; ++y) {
-				for (int x = 0; x < hzBlockNum; ++x) {
-					Block block = this.slice.getBlockAt(x, y);
+				
+				if (this.markedBlock != null && this.markedBlock.x == x && this.markedBlock.y == y) {
+					// draw a red border around this block
+					g.setColor(markColor);
+					boolean drawLeft = (x != 0);
+					boolean drawRight = (x != hzBlockNum -1);
+					boolean drawTop = (y != 0);
+					boolean drawBottom = (y != vtBlockNum -1);
 					
-					if (block.getId() != 0) {
-						BufferedImage img = block.getImage(this.zoom);
-						g.drawImage(img, xPx, yPx, null); // see javadoc for more info on the parameters
-					}
+					int left = xPx - 1;
+					int top = yPx - 1;
+					int right = xPx + imgWidth;
+					int bottom = yPx + imgHeight;
 					
-					if (this.markedBlock != null && this.markedBlock.x == x && this.markedBlock.y == y) {
-						// draw a red border around this block
-						g.setColor(this.markColor);
-						boolean drawLeft = (x != 0);
-						boolean drawRight = (x != hzBlockNum -1);
-						boolean drawTop = (y != 0);
-						boolean drawBottom = (y != vtBlockNum -1);
-						
-						int left = xPx - 1;
-						int top = yPx - 1;
-						int right = xPx + imgWidth;
-						int bottom = yPx + imgHeight;
-						
-						// corner points
-						if (drawLeft && drawTop)		g.drawLine(left, top, left, top);
-						if (drawLeft && drawBottom)		g.drawLine(left, bottom, left, bottom);
-						if (drawRight && drawTop)		g.drawLine(right, top, right, top);
-						if (drawRight && drawBottom)	g.drawLine(right, bottom, right, bottom);
-						
-						// lines
-						if (drawLeft)	g.drawLine(left, top+1, left, bottom-1);
-						if (drawRight)	g.drawLine(right, top+1, right, bottom-1);
-						if (drawTop)	g.drawLine(left+1, top, right-1, top);
-						if (drawBottom)	g.drawLine(left+1, bottom, right-1, bottom);
-						
-						Color c = new Color(this.markColor.getRed(), this.markColor.getGreen(), this.markColor.getBlue(), 50);
-						g.setColor(c);
-						g.fillRect(xPx, yPx, imgWidth, imgHeight);
-					}
+					// corner points
+					if (drawLeft && drawTop)		g.drawLine(left, top, left, top);
+					if (drawLeft && drawBottom)		g.drawLine(left, bottom, left, bottom);
+					if (drawRight && drawTop)		g.drawLine(right, top, right, top);
+					if (drawRight && drawBottom)	g.drawLine(right, bottom, right, bottom);
 					
-					if ((x + 1) % 5 == 0) {
-						// double line
-						xPx = xPx + (imgWidth + 2);
-					} else {
-						xPx = xPx + (imgWidth + 1);
-					}
-				}
-				xPx = 0;
-				if ((y + 1) % 5 == 0) {
-					// double line
-					yPx = yPx + (imgHeight + 2);
-				} else {
-					yPx = yPx + (imgHeight + 1);
+					// lines
+					if (drawLeft)	g.drawLine(left, top+1, left, bottom-1);
+					if (drawRight)	g.drawLine(right, top+1, right, bottom-1);
+					if (drawTop)	g.drawLine(left+1, top, right-1, top);
+					if (drawBottom)	g.drawLine(left+1, bottom, right-1, bottom);
+					
+					Color c = new Color(markColor.getRed(), markColor.getGreen(), markColor.getBlue(), 50);
+					g.setColor(c);
+					g.fillRect(xPx, yPx, imgWidth, imgHeight);
 				}
 			}
 		}
 	}
 	
+	/**
+	 * Gets the pixel where the given block starts (horizontally or vertically, the layout is the same). There's a 1px line after each block
+	 * and a 2px line after every 5th block
+	 * @param block the index of the block
+	 * @param imgSize the width or height of a block image
+	 * @return the first pixel of the block
+	 */
+	private static int getPixelOfBlock(int block, int imgSize) {
+		return block * (imgSize + 1) + block / 5;
+	}
+	
+	/**
+	 * Gets the block at or, if the pixel is on a line, before the given pixel (horizontally or vertically)
+	 * @param pixel the pixel
+	 * @param imgSize the width or height of a block image
+	 * @return the index of the block
+	 */
+	private static int getBlockAtPixel(int pixel, int imgSize) {
+		int fiverSize = (imgSize + 1) * 5 + 1; // five blocks, their lines and the second line of the double line
+		int fiver = pixel / fiverSize;
+		int inFiver = Math.min((pixel % fiverSize) / (imgSize + 1), 4);
+		return fiver * 5 + inFiver;
+	}
+	
 	/**
 	 * This method writes the content of the current ImageGrid to a BufferedImage
 	 * A check for enough memory should be done before calling this or this should be wrapped
-	 * inside a try-catch for java.lang.OutOfMemoryError - it'll need ~4 byte of memory per pixel
+	 * inside a try-catch for java.lang.OutOfMemoryError - it'll need ~4 byte of memory per pixel. To write the image to a file, use
+	 * exportPNG(), which needs a lot less memory
 	 * @param background the background color to use. Null for transparent
 	 * @param gridLines the color to use for the grid lines
 	 * @return the generated image
@@ -267,21 +306,76 @@ public class ImageGrid extends JComponent implements Printable, MouseListener {
 			g.clearRect(0, 0, width, height);
 		}
 		
-		Color previousGridColor = this.getGridColor();
-		if (previousGridColor != gridLines) {
-			this.setGridColor(gridLines);
-		}
+		// marker color is set to the grid color to hide it
+		paintGrid(g, gridLines, gridLines);
 		
-		// set marker color to grid color to hide
-		Color previousMarkColor = this.getMarkColor();
-		this.setMarkColor(gridLines);
+		return img;
+	}
+
+	/**
+	 * Writes the content of the current ImageGrid to a PNG file. Unlike exportImage(), the image is rendered in horizontal strips that are
+	 * written to the file one after another, so the memory needed does not depend on the size of the grid
+	 * @param file the file to write to
+	 * @param background the background color to use. Null for transparent
+	 * @param gridLines the color to use for the grid lines
+	 * @throws IOException
+	 */
+	public void exportPNG(File file, Color background, Color gridLines) throws IOException {
+		exportPNG(new BufferedOutputStream(new FileOutputStream(file)), background, gridLines);
+	}
+	
+	/**
+	 * Writes the content of the current ImageGrid as PNG to the given stream, rendered in horizontal strips (see exportPNG(File, Color, Color)).
+	 * This does not change the grid, so multiple grids can be exported at the same time by different threads
+	 * @param os the stream to write to, it is closed afterwards
+	 * @param background the background color to use. Null for transparent
+	 * @param gridLines the color to use for the grid lines
+	 * @throws IOException
+	 */
+	public void exportPNG(OutputStream os, Color background, Color gridLines) throws IOException {
+		if (this.slice == null || this.slice.getWidth() == 0 || this.slice.getHeight() == 0) {
+			os.close();
+			return;
+		}
 		
-		this.paint(g);
+		int width = this.getMinimumSize().width;
+		int height = this.getMinimumSize().height;
+		int stripHeight = Math.max(1, Math.min(height, EXPORT_STRIP_PIXELS / width));
 		
-		this.setGridColor(previousGridColor);
-		this.setMarkColor(previousMarkColor);
+		BufferedImage strip = new BufferedImage(width, stripHeight, BufferedImage.TYPE_INT_ARGB);
+		int[] pixels = new int[width * stripHeight];
 		
-		return img;
+		PNGStripWriter writer = null;
+		try {
+			writer = new PNGStripWriter(os, width, height);
+			for (int stripY = 0; stripY < height; stripY += stripHeight) {
+				int rows = Math.min(stripHeight, height - stripY);
+				
+				Graphics2D g = strip.createGraphics();
+				if (background != null) {
+					g.setColor(background);
+					g.fillRect(0, 0, width, stripHeight);
+				} else {
+					g.setBackground(new Color(0x00FFFFFF, true)); // transp. white
+					g.clearRect(0, 0, width, stripHeight);
+				}
+				// move the strip to its place in the grid, only the blocks inside the clip are painted
+				g.translate(0, -stripY);
+				g.setClip(0, stripY, width, rows);
+				paintGrid(g, gridLines, gridLines); // marker color is set to the grid color to hide it
+				g.dispose();
+				
+				strip.getRGB(0, 0, width, rows, pixels, 0, width);
+				writer.writeRows(pixels, rows);
+			}
+			writer.finish();
+		} finally {
+			if (writer != null) {
+				writer.close();
+			} else {
+				os.close();
+			}
+		}
 	}
 
 	/**
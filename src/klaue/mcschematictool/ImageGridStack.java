@@ -2,20 +2,35 @@ package klaue.mcschematictool;
 
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.awt.print.PrinterException;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import klaue.mcschematictool.blocktypes.Block;
 
 /**
- * A stack of ImageGrids
+ * A stack of ImageGrids<br>
+ * A lazy stack creates the grid of a layer only when it is first needed and keeps only the last used ones, the others are created
+ * again when they are needed
  * @author klaue
  */
 public class ImageGridStack implements Printable {
-	private ImageGrid[] grids;
+	private ImageGrid[] grids; // in a lazy stack, grids that are not in memory are null
 	private Color gridColor = null;
 	private Color markColor = null;
 	private double zoom = 1;
 	
+	// lazy stacks only
+	private SliceStack slices = null;
+	private boolean calculateRedstoneWires;
+	private LinkedHashMap<ImageGrid, Integer> resident = null; // the grids in memory and their level, least recently used first
+	
 	/**
 	 * initialize the image grid stack.
 	 * @param grids the ImageGrids. It is assumed that all grids in this array are of the same zoom value and grid line color
@@ -29,12 +44,60 @@ public class ImageGridStack implements Printable {
 		}
 	}
 	
+	/**
+	 * Initializes a lazy image grid stack, the grids are created from the slices when they are needed, with black grid lines and
+	 * a red marker
+	 * @param slices the slices, may be a lazy stack too
+	 * @param zoom the zoom value of the grids
+	 * @param calculateRedstoneWires true to calculate the directions of redstone wires when a grid is created
+	 * @param maxResidentGrids the number of grids that are kept in memory
+	 */
+	public ImageGridStack(SliceStack slices, double zoom, boolean calculateRedstoneWires, final int maxResidentGrids) {
+		if (maxResidentGrids < 1) throw new IllegalArgumentException("At least one grid has to be kept in memory");
+		this.grids = new ImageGrid[slices.getHeight()];
+		this.slices = slices;
+		this.zoom = zoom;
+		this.calculateRedstoneWires = calculateRedstoneWires;
+		this.gridColor = Color.black;
+		this.markColor = Color.RED;
+		this.resident = new LinkedHashMap<ImageGrid, Integer>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<ImageGrid, Integer> eldest) {
+				if (size() <= maxResidentGrids) return false;
+				ImageGridStack.this.grids[eldest.getValue()] = null;
+				return true;
+			}
+		};
+	}
+	
 	/**
 	 * Gets the grid at the level
 	 * @param level the level
 	 * @return the grid
 	 */
 	public ImageGrid getGridAtLevel(int level) {
+		if (this.slices == null) return this.grids[level];
+		synchronized (this) {
+			ImageGrid grid = this.grids[level];
+			if (grid == null) {
+				grid = this.slices.getImages(level, this.zoom, this.calculateRedstoneWires);
+				grid.setGridColor(this.gridColor);
+				grid.setMarkColor(this.markColor);
+				this.grids[level] = grid;
+			}
+			this.resident.put(grid, level); // now the most recently used one
+			return grid;
+		}
+	}
+	
+	/**
+	 * Gets the grid at the level if it is in memory, without making it
+	 * @param level the level
+	 * @return the grid or null if it is not in memory
+	 */
+	public synchronized ImageGrid getLoadedGridAtLevel(int level) {
 		return this.grids[level];
 	}
 	
@@ -56,7 +119,13 @@ public class ImageGridStack implements Printable {
 			throw new IllegalArgumentException("new grid not of same gridcolor, markcolor or zoom as the rest of the grids");
 		}
 		
-		this.grids[level] = grid; // may throw arrayoutofboundsexception
+		synchronized (this) {
+			if (this.resident != null) {
+				if (this.grids[level] != null) this.resident.remove(this.grids[level]);
+				this.resident.put(grid, level);
+			}
+			this.grids[level] = grid; // may throw arrayoutofboundsexception
+		}
 	}
 	
 	/**
@@ -76,11 +145,11 @@ public class ImageGridStack implements Printable {
 	/**
 	 * @param zoom the zoom value to set (distributed to all contained imagegrids)
 	 */
-	public void setZoom(double zoom) {
+	public synchronized void setZoom(double zoom) {
 		if (zoom == this.zoom) return;
 		this.zoom = zoom;
 		for (ImageGrid grid : this.grids) {
-			grid.setZoom(zoom);
+			if (grid != null) grid.setZoom(zoom);
 		}
 	}
 
@@ -94,11 +163,11 @@ public class ImageGridStack implements Printable {
 	/**
 	 * @param gridColor the gridColor to set
 	 */
-	public void setGridColor(Color gridColor) {
+	public synchronized void setGridColor(Color gridColor) {
 		if (this.gridColor == gridColor) return;
 		this.gridColor = gridColor;
 		for (ImageGrid grid : this.grids) {
-			grid.setGridColor(gridColor);
+			if (grid != null) grid.setGridColor(gridColor);
 		}
 	}
 
@@ -112,12 +181,73 @@ public class ImageGridStack implements Printable {
 	/**
 	 * @param markColor the gridColor to set
 	 */
-	public void setMarkColor(Color markColor) {
+	public synchronized void setMarkColor(Color markColor) {
 		if (this.markColor == markColor) return;
 		this.markColor = markColor;
 		for (ImageGrid grid : this.grids) {
-			grid.setMarkColor(markColor);
+			if (grid != null) grid.setMarkColor(markColor);
+		}
+	}
+
+	/**
+	 * Gets the colors the exported images of this stack contain besides the grid lines: the background and the colors of all
+	 * block images drawn onto it. Used to build one palette for all layers of an animated gif instead of quantizing every layer.<br>
+	 * Colors are repeated by how often they are used, the pixels of an image that is used by n blocks appear about sqrt(n) times
+	 * @param background the background color of the export. Null for transparent, which is black in formats without alpha
+	 * @return the colors as RGB ints
+	 */
+	public int[] getExportColors(Color background) {
+		int backgroundRGB = (background == null) ? 0 : background.getRGB() & 0xFFFFFF;
+		
+		// many blocks share the same image, so every image is only looked at once
+		IdentityHashMap<BufferedImage, int[]> usage = new IdentityHashMap<BufferedImage, int[]>();
+		for (int level = 0; level < this.grids.length; ++level) {
+			ImageGrid grid = getGridAtLevel(level);
+			Slice slice = grid.getSlice();
+			if (slice == null) continue;
+			for (int y = 0; y < slice.getHeight(); ++y) {
+				for (int x = 0; x < slice.getWidth(); ++x) {
+					Block block = slice.getBlockAt(x, y);
+					if (block.getId() == 0) continue;
+					BufferedImage img = block.getImage(grid.getZoom());
+					if (img == null) continue;
+					int[] count = usage.get(img);
+					if (count == null) {
+						usage.put(img, new int[] {1});
+					} else {
+						++count[0];
+					}
+				}
+			}
+		}
+		
+		int[] colors = new int[] {backgroundRGB};
+		int size = 1;
+		for (Map.Entry<BufferedImage, int[]> entry : usage.entrySet()) {
+			BufferedImage img = entry.getKey();
+			
+			// draw it like ImageGrid does, semi transparent pixels get mixed with the background
+			int width = img.getWidth();
+			int height = img.getHeight();
+			BufferedImage drawn = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			Graphics2D g = drawn.createGraphics();
+			g.setColor(new Color(backgroundRGB));
+			g.fillRect(0, 0, width, height);
+			g.drawImage(img, 0, 0, null);
+			g.dispose();
+			int[] pixels = drawn.getRGB(0, 0, width, height, null, 0, width);
+			
+			int repeat = (int)Math.sqrt(entry.getValue()[0]);
+			if (size + repeat * pixels.length > colors.length) {
+				colors = Arrays.copyOf(colors, Math.max(colors.length * 2, size + repeat * pixels.length));
+			}
+			for (int r = 0; r < repeat; ++r) {
+				for (int rgb : pixels) {
+					colors[size++] = rgb & 0xFFFFFF;
+				}
+			}
 		}
+		return Arrays.copyOf(colors, size);
 	}
 
 	@Override
@@ -125,7 +255,7 @@ public class ImageGridStack implements Printable {
 		if (pageIndex >= this.grids.length) {
 			return NO_SUCH_PAGE;
 		}
-		this.grids[pageIndex].print(g, pageFormat, 0);
+		getGridAtLevel(pageIndex).print(g, pageFormat, 0);
 		
 		return PAGE_EXISTS;
 	}
@@ -0,0 +1,158 @@
+package klaue.mcschematictool;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exports all layers of an ImageGridStack to PNG files, one file per layer.<br>
+ * The layers are rendered and compressed on a fixed number of worker threads, while the calling thread writes the finished images to disk.
+ * At most maxInFlight layers are being rendered or waiting to be written at the same time: a new layer is only started after a finished one
+ * has been written, so the memory needed stays bounded no matter how many layers there are
+ * @author klaue
+ */
+public class LayerExporter {
+	private ImageGridStack grids;
+	private Color background;
+	private Color gridLines;
+	private int threads;
+	private int maxInFlight;
+
+	/**
+	 * Initializes the exporter with one worker per processor
+	 * @param grids the layers to export
+	 * @param background the background color to use. Null for transparent
+	 * @param gridLines the color to use for the grid lines
+	 */
+	public LayerExporter(ImageGridStack grids, Color background, Color gridLines) {
+		this(grids, background, gridLines, Runtime.getRuntime().availableProcessors(), 2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Initializes the exporter
+	 * @param grids the layers to export
+	 * @param background the background color to use. Null for transparent
+	 * @param gridLines the color to use for the grid lines
+	 * @param threads the number of render workers
+	 * @param maxInFlight the maximum number of layers that are rendered or waiting to be written at the same time, at least threads
+	 */
+	public LayerExporter(ImageGridStack grids, Color background, Color gridLines, int threads, int maxInFlight) {
+		if (threads < 1) throw new IllegalArgumentException("Need at least one thread");
+		this.grids = grids;
+		this.background = background;
+		this.gridLines = gridLines;
+		this.threads = threads;
+		this.maxInFlight = Math.max(threads, maxInFlight);
+	}
+
+	/**
+	 * Gets the name of the file of the given layer, like prefix007.png. The number is padded with zeros so the files are sorted correctly
+	 * @param prefix the prefix of all file names
+	 * @param layer the number of the layer
+	 * @param layerCount the total number of layers
+	 * @return the name
+	 */
+	public static String getFileName(String prefix, int layer, int layerCount) {
+		int numberLength = Integer.toString(layerCount).length();
+		StringBuffer imgName = new StringBuffer(Integer.toString(layer));
+		while (imgName.length() < numberLength) {
+			imgName.insert(0, "0");
+		}
+		return imgName.insert(0, prefix).append(".png").toString();
+	}
+
+	/**
+	 * Exports all layers into the given directory. If an image could not be written, the export is stopped and the images that are already
+	 * written are kept
+	 * @param dir the target directory
+	 * @param fileNamePrefix the prefix of the file names, see getFileName()
+	 * @throws IOException if an image could not be written. The message contains the file name
+	 */
+	public void export(File dir, String fileNamePrefix) throws IOException {
+		final int layerCount = this.grids.getStackSize();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(this.threads, Math.max(layerCount, 1)));
+		CompletionService<RenderedLayer> completion = new ExecutorCompletionService<RenderedLayer>(pool);
+
+		try {
+			int nextLayer = 0;
+			int inFlight = 0;
+			while (nextLayer < layerCount || inFlight > 0) {
+				// start new layers until the limit is reached
+				while (nextLayer < layerCount && inFlight < this.maxInFlight) {
+					completion.submit(new RenderTask(nextLayer));
+					++nextLayer;
+					++inFlight;
+				}
+
+				// I/O stage: write the next finished layer
+				RenderedLayer rendered = takeResult(completion);
+				--inFlight;
+				File file = new File(dir, getFileName(fileNamePrefix, rendered.layer, layerCount));
+				FileOutputStream fos = null;
+				try {
+					fos = new FileOutputStream(file);
+					rendered.png.writeTo(fos);
+				} catch (IOException e) {
+					throw new IOException(file.getName() + ": " + e.getLocalizedMessage(), e);
+				} finally {
+					if (fos != null) fos.close();
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static RenderedLayer takeResult(CompletionService<RenderedLayer> completion) throws IOException {
+		try {
+			Future<RenderedLayer> future = completion.take();
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Export interrupted", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Error) throw (Error)cause; // like OutOfMemoryError
+			if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+			if (cause instanceof IOException) throw (IOException)cause;
+			throw new IOException(cause);
+		}
+	}
+
+	/**
+	 * Renders one layer into a compressed PNG in memory
+	 */
+	private class RenderTask implements Callable<RenderedLayer> {
+		private int layer;
+
+		public RenderTask(int layer) {
+			this.layer = layer;
+		}
+
+		@Override
+		public RenderedLayer call() throws IOException {
+			ByteArrayOutputStream png = new ByteArrayOutputStream();
+			LayerExporter.this.grids.getGridAtLevel(this.layer).exportPNG(png, LayerExporter.this.background, LayerExporter.this.gridLines);
+			return new RenderedLayer(this.layer, png);
+		}
+	}
+
+	private static class RenderedLayer {
+		final int layer;
+		final ByteArrayOutputStream png;
+
+		RenderedLayer(int layer, ByteArrayOutputStream png) {
+			this.layer = layer;
+			this.png = png;
+		}
+	}
+}
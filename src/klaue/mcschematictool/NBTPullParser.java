@@ -0,0 +1,321 @@
+package klaue.mcschematictool;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jnbt.ByteArrayTag;
+import org.jnbt.ByteTag;
+import org.jnbt.CompoundTag;
+import org.jnbt.DoubleTag;
+import org.jnbt.FloatTag;
+import org.jnbt.IntTag;
+import org.jnbt.ListTag;
+import org.jnbt.LongTag;
+import org.jnbt.NBTConstants;
+import org.jnbt.NBTUtils;
+import org.jnbt.ShortTag;
+import org.jnbt.StringTag;
+import org.jnbt.Tag;
+
+/**
+ * A pull parser for (uncompressed) NBT data. Unlike org.jnbt.NBTInputStream, this does not build the whole tag tree but
+ * lets the caller walk through the tags one by one, decide per tag if and how the payload should be read and skip the rest
+ * without creating any objects for it.<br>
+ * Usage: call nextTag() to get the type of the next tag inside the current compound (the name is available through getName()
+ * afterwards), then exactly one of the read- or skip-methods for its payload. TAG_End marks the end of the current compound<br>
+ * The parser can also work directly on a ByteBuffer (for example a memory mapped file). In that case, readByteArrayView() returns
+ * the byte arrays as views into the buffer instead of copying them
+ * @author klaue
+ */
+public class NBTPullParser implements Closeable {
+	/** Not supported by JNBT, but used by newer minecraft versions */
+	public static final int TYPE_INT_ARRAY = 11;
+	/** Not supported by JNBT, but used by newer minecraft versions */
+	public static final int TYPE_LONG_ARRAY = 12;
+
+	private DataInputStream is;
+	private ByteBuffer buffer = null;
+	private String name = "";
+	private int listType = NBTConstants.TYPE_END;
+
+	/**
+	 * Initializes the parser
+	 * @param is the stream of uncompressed NBT data. Should be buffered
+	 */
+	public NBTPullParser(InputStream is) {
+		this.is = new DataInputStream(is);
+	}
+
+	/**
+	 * Initializes the parser to read directly from the given buffer, starting at its current position
+	 * @param buffer the buffer containing uncompressed NBT data
+	 */
+	public NBTPullParser(ByteBuffer buffer) {
+		this.buffer = buffer;
+		// DataInputStream does not buffer on its own, so the position of the buffer always is the position of the parser
+		this.is = new DataInputStream(new ByteBufferInputStream(buffer));
+	}
+
+	/**
+	 * Reads the type and name of the next tag
+	 * @return the type of the tag, one of the NBTConstants.TYPE_* values. TYPE_END if the current compound has ended
+	 * @throws IOException
+	 */
+	public int nextTag() throws IOException {
+		int type = this.is.readByte() & 0xFF;
+		if (type == NBTConstants.TYPE_END) {
+			this.name = "";
+		} else {
+			this.name = readUTF();
+		}
+		return type;
+	}
+
+	/**
+	 * @return the name of the tag last read by nextTag()
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * @return the payload of a TAG_Byte
+	 * @throws IOException
+	 */
+	public byte readByte() throws IOException {
+		return this.is.readByte();
+	}
+
+	/**
+	 * @return the payload of a TAG_Short
+	 * @throws IOException
+	 */
+	public short readShort() throws IOException {
+		return this.is.readShort();
+	}
+
+	/**
+	 * @return the payload of a TAG_Int
+	 * @throws IOException
+	 */
+	public int readInt() throws IOException {
+		return this.is.readInt();
+	}
+
+	/**
+	 * @return the payload of a TAG_String
+	 * @throws IOException
+	 */
+	public String readString() throws IOException {
+		return readUTF();
+	}
+
+	/**
+	 * Reads the payload of a TAG_Byte_Array
+	 * @return the array
+	 * @throws IOException
+	 */
+	public byte[] readByteArray() throws IOException {
+		int length = this.is.readInt();
+		if (length < 0) throw new IOException("Negative byte array length " + length);
+		byte[] bytes = new byte[length];
+		this.is.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * Reads the payload of a TAG_Byte_Array as a ByteBuffer. If the parser reads from a ByteBuffer, the result is a view into it and
+	 * no data is copied, else the array is read and wrapped. Use absolute get(int) on the result, index 0 is the first element
+	 * @return the array as buffer
+	 * @throws IOException
+	 */
+	public ByteBuffer readByteArrayView() throws IOException {
+		if (this.buffer == null) {
+			return ByteBuffer.wrap(readByteArray());
+		}
+		int length = this.is.readInt();
+		if (length < 0) throw new IOException("Negative byte array length " + length);
+		if (length > this.buffer.remaining()) throw new EOFException();
+		ByteBuffer view = this.buffer.slice();
+		view.limit(length);
+		this.buffer.position(this.buffer.position() + length);
+		return view;
+	}
+
+	/**
+	 * Reads the header of a TAG_List. After this, read or skip the payloads of all the elements
+	 * @return the number of elements in the list. Use getListType() for their type
+	 * @throws IOException
+	 */
+	public int beginList() throws IOException {
+		this.listType = this.is.readByte() & 0xFF;
+		int length = this.is.readInt();
+		return (length < 0) ? 0 : length;
+	}
+
+	/**
+	 * @return the element type of the list started by the last beginList() call
+	 */
+	public int getListType() {
+		return this.listType;
+	}
+
+	/**
+	 * Reads the payload of a compound into a map of JNBT tags. Only meant for small compounds like tile entities. Tags of types
+	 * JNBT does not know are skipped
+	 * @return the map
+	 * @throws IOException
+	 */
+	public Map<String, Tag> readCompound() throws IOException {
+		Map<String, Tag> map = new HashMap<String, Tag>();
+		int type;
+		while ((type = nextTag()) != NBTConstants.TYPE_END) {
+			String tagName = this.name;
+			Tag tag = readTag(type, tagName);
+			if (tag != null) {
+				map.put(tagName, tag);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Reads the payload of the given type as a JNBT tag
+	 * @param type the tag type
+	 * @param tagName the name to give the tag
+	 * @return the tag or null if the type is not supported by JNBT (the payload is skipped in that case)
+	 * @throws IOException
+	 */
+	public Tag readTag(int type, String tagName) throws IOException {
+		switch (type) {
+			case NBTConstants.TYPE_BYTE:		return new ByteTag(tagName, this.is.readByte());
+			case NBTConstants.TYPE_SHORT:		return new ShortTag(tagName, this.is.readShort());
+			case NBTConstants.TYPE_INT:			return new IntTag(tagName, this.is.readInt());
+			case NBTConstants.TYPE_LONG:		return new LongTag(tagName, this.is.readLong());
+			case NBTConstants.TYPE_FLOAT:		return new FloatTag(tagName, this.is.readFloat());
+			case NBTConstants.TYPE_DOUBLE:		return new DoubleTag(tagName, this.is.readDouble());
+			case NBTConstants.TYPE_BYTE_ARRAY:	return new ByteArrayTag(tagName, readByteArray());
+			case NBTConstants.TYPE_STRING:		return new StringTag(tagName, readUTF());
+			case NBTConstants.TYPE_COMPOUND:	return new CompoundTag(tagName, readCompound());
+			case NBTConstants.TYPE_LIST:
+				int length = beginList();
+				int elementType = getListType();
+				List<Tag> list = new ArrayList<Tag>(length);
+				for (int i = 0; i < length; ++i) {
+					Tag element = readTag(elementType, "");
+					if (element != null) list.add(element);
+				}
+				if (elementType == NBTConstants.TYPE_END || elementType > NBTConstants.TYPE_COMPOUND) {
+					// empty lists are saved with element type end, unknown types have been skipped
+					return new ListTag(tagName, CompoundTag.class, list);
+				}
+				return new ListTag(tagName, NBTUtils.getTypeClass(elementType), list);
+			default:
+				skip(type);
+				return null;
+		}
+	}
+
+	/**
+	 * Skips the payload of the given type without creating objects for it
+	 * @param type the tag type
+	 * @throws IOException
+	 */
+	public void skip(int type) throws IOException {
+		switch (type) {
+			case NBTConstants.TYPE_END:											break;
+			case NBTConstants.TYPE_BYTE:		skipBytes(1);					break;
+			case NBTConstants.TYPE_SHORT:		skipBytes(2);					break;
+			case NBTConstants.TYPE_INT:
+			case NBTConstants.TYPE_FLOAT:		skipBytes(4);					break;
+			case NBTConstants.TYPE_LONG:
+			case NBTConstants.TYPE_DOUBLE:		skipBytes(8);					break;
+			case NBTConstants.TYPE_BYTE_ARRAY:	skipBytes(this.is.readInt());	break;
+			case NBTConstants.TYPE_STRING:		skipBytes(this.is.readUnsignedShort());	break;
+			case TYPE_INT_ARRAY:				skipBytes(4L * this.is.readInt());	break;
+			case TYPE_LONG_ARRAY:				skipBytes(8L * this.is.readInt());	break;
+			case NBTConstants.TYPE_LIST:
+				int length = beginList();
+				int elementType = getListType();
+				for (int i = 0; i < length; ++i) {
+					skip(elementType);
+				}
+				break;
+			case NBTConstants.TYPE_COMPOUND:
+				int innerType;
+				while ((innerType = nextTag()) != NBTConstants.TYPE_END) {
+					skip(innerType);
+				}
+				break;
+			default:
+				throw new IOException("Invalid tag type: " + type);
+		}
+	}
+
+	private void skipBytes(long n) throws IOException {
+		while (n > 0) {
+			int skipped = this.is.skipBytes((int)Math.min(n, Integer.MAX_VALUE));
+			if (skipped <= 0) throw new EOFException();
+			n -= skipped;
+		}
+	}
+
+	private String readUTF() throws IOException {
+		int length = this.is.readUnsignedShort();
+		byte[] bytes = new byte[length];
+		this.is.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.is.close();
+	}
+
+	/**
+	 * A stream reading from a ByteBuffer, advancing its position
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private ByteBuffer buffer;
+
+		public ByteBufferInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			if (!this.buffer.hasRemaining()) return -1;
+			return this.buffer.get() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) return 0;
+			if (!this.buffer.hasRemaining()) return -1;
+			len = Math.min(len, this.buffer.remaining());
+			this.buffer.get(b, off, len);
+			return len;
+		}
+
+		@Override
+		public long skip(long n) {
+			int skipped = (int)Math.max(0, Math.min(n, this.buffer.remaining()));
+			this.buffer.position(this.buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return this.buffer.remaining();
+		}
+	}
+}
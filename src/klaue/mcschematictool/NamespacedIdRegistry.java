@@ -0,0 +1,108 @@
+package klaue.mcschematictool;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+
+/**
+ * The numeric ids of the namespaced ids (like minecraft:stone), read once from minecraftNameIDMap.txt.<br>
+ * The ids are kept in an open addressing hash map with the hashes of the names saved next to them. The hash is computed over the
+ * name without the "minecraft:" prefix, straight from the string, so looking up an id creates no objects
+ * @author klaue
+ */
+class NamespacedIdRegistry {
+	private static final String NAMESPACE = "minecraft:";
+
+	// open addressing hash map, name without namespace -> id
+	private static final String[] names;
+	private static final int[] hashes;
+	private static final short[] ids;
+
+	static {
+		ArrayList<String[]> lines;
+		try {
+			lines = readLines("klaue/mcschematictool/minecraftNameIDMap.txt");
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read the namespaced ids", e);
+		}
+
+		// keep the load factor below 0.5
+		int capacity = 16;
+		while (capacity < lines.size() * 2) {
+			capacity *= 2;
+		}
+		names = new String[capacity];
+		hashes = new int[capacity];
+		ids = new short[capacity];
+		for (String[] fields : lines) {
+			String name = fields[1].trim();
+			int start = name.startsWith(NAMESPACE) ? NAMESPACE.length() : 0;
+			int hash = hash(name, start);
+			int slot = findSlot(name, start, hash);
+			// some names are both a block and an item, the item comes later and wins, as items are what have namespaced ids
+			names[slot] = name.substring(start);
+			hashes[slot] = hash;
+			ids[slot] = Short.parseShort(fields[0].trim());
+		}
+	}
+
+	/**
+	 * Gets the numeric id of a namespaced id
+	 * @param name the namespaced id, like minecraft:stone. The namespace may be left out
+	 * @return the id or -1 if the name is unknown
+	 */
+	static short getId(String name) {
+		int start = name.startsWith(NAMESPACE) ? NAMESPACE.length() : 0;
+		int slot = findSlot(name, start, hash(name, start));
+		return (names[slot] == null) ? -1 : ids[slot];
+	}
+
+	/**
+	 * Returns the slot of the name or the empty slot where it would be inserted
+	 */
+	private static int findSlot(String name, int start, int hash) {
+		int mask = names.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (names[slot] != null) {
+			if (hashes[slot] == hash && names[slot].length() == name.length() - start
+					&& name.regionMatches(start, names[slot], 0, names[slot].length())) {
+				break;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * The same as name.substring(start).hashCode(), without the substring
+	 */
+	private static int hash(String name, int start) {
+		int hash = 0;
+		for (int i = start; i < name.length(); ++i) {
+			hash = 31 * hash + name.charAt(i);
+		}
+		return hash;
+	}
+
+	private static ArrayList<String[]> readLines(String path) throws IOException {
+		InputStream is = NamespacedIdRegistry.class.getClassLoader().getResourceAsStream(path);
+		if (is == null) throw new FileNotFoundException(path);
+		ArrayList<String[]> lines = new ArrayList<String[]>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(is, "UTF-8"));
+		try {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.trim().isEmpty()) continue;
+				String[] fields = line.split("\t");
+				if (fields.length < 2) throw new IOException("Invalid line in " + path + ": " + line);
+				lines.add(fields);
+			}
+		} finally {
+			reader.close();
+		}
+		return lines;
+	}
+}
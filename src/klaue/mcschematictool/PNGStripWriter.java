@@ -0,0 +1,211 @@
+package klaue.mcschematictool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a PNG (8 bit RGBA) row by row, so the whole image never has to be in memory. The rows are written in strips of any height, from
+ * the top to the bottom of the image. Every row is filtered with the filter that fits it best (same heuristic as libpng) and then compressed
+ * @author klaue
+ */
+public class PNGStripWriter implements Closeable {
+	private static final byte[] SIGNATURE = {(byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+	private static final int IDAT_SIZE = 64 * 1024; // max size of an IDAT chunk
+
+	private DataOutputStream os;
+	private int width;
+	private int height;
+	private int rowsWritten = 0;
+
+	private byte[] previousRow;
+	private byte[] currentRow;
+	private byte[][] filtered = new byte[5][];
+
+	private ChunkBuffer idat = new ChunkBuffer();
+	private Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+	private DeflaterOutputStream deflaterStream;
+
+	/**
+	 * Starts a new PNG image and writes the header
+	 * @param os the stream to write to. Is closed when the writer is closed
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @throws IOException
+	 */
+	public PNGStripWriter(OutputStream os, int width, int height) throws IOException {
+		if (width <= 0 || height <= 0) throw new IllegalArgumentException("Invalid image size " + width + "x" + height);
+		this.os = new DataOutputStream(os);
+		this.width = width;
+		this.height = height;
+
+		int rowLength = width * 4;
+		this.previousRow = new byte[rowLength];
+		this.currentRow = new byte[rowLength];
+		for (int i = 0; i < this.filtered.length; ++i) {
+			this.filtered[i] = new byte[rowLength + 1];
+			this.filtered[i][0] = (byte)i; // filter type in front of the row
+		}
+		this.deflaterStream = new DeflaterOutputStream(this.idat, this.deflater, IDAT_SIZE);
+
+		this.os.write(SIGNATURE);
+		ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+		DataOutputStream headerData = new DataOutputStream(header);
+		headerData.writeInt(width);
+		headerData.writeInt(height);
+		headerData.writeByte(8); // bit depth
+		headerData.writeByte(6); // color type RGBA
+		headerData.writeByte(0); // compression: deflate
+		headerData.writeByte(0); // filter method: adaptive
+		headerData.writeByte(0); // no interlace
+		writeChunk("IHDR", header.toByteArray(), header.size());
+	}
+
+	/**
+	 * Writes the next rows of the image
+	 * @param argb the pixels of the rows as ints in the ARGB format of BufferedImage.TYPE_INT_ARGB (not premultiplied), row after row
+	 * @param rows the number of rows in argb
+	 * @throws IOException
+	 */
+	public void writeRows(int[] argb, int rows) throws IOException {
+		if (this.rowsWritten + rows > this.height) throw new IllegalArgumentException("Image only has " + this.height + " rows");
+		if (argb.length < rows * this.width) throw new IllegalArgumentException("Not enough pixels for " + rows + " rows");
+
+		for (int row = 0; row < rows; ++row) {
+			int offset = row * this.width;
+			byte[] current = this.currentRow;
+			for (int x = 0; x < this.width; ++x) {
+				int pixel = argb[offset + x];
+				current[x * 4]		= (byte)(pixel >> 16);
+				current[x * 4 + 1]	= (byte)(pixel >> 8);
+				current[x * 4 + 2]	= (byte)pixel;
+				current[x * 4 + 3]	= (byte)(pixel >>> 24);
+			}
+			byte[] best = filterRow();
+			this.deflaterStream.write(best, 0, best.length);
+
+			this.currentRow = this.previousRow;
+			this.previousRow = current;
+			++this.rowsWritten;
+		}
+	}
+
+	/**
+	 * Finishes the image. All rows have to be written before
+	 * @throws IOException
+	 */
+	public void finish() throws IOException {
+		if (this.rowsWritten != this.height) throw new IllegalStateException("Only " + this.rowsWritten + " of " + this.height + " rows were written");
+		this.deflaterStream.finish();
+		this.idat.flushChunk();
+		this.deflater.end();
+		writeChunk("IEND", new byte[0], 0);
+		this.os.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.deflater.end();
+		this.os.close();
+	}
+
+	/**
+	 * Filters the current row with every PNG filter type and returns the one with the smallest sum of absolute values
+	 * @return the filtered row, starting with the filter type
+	 */
+	private byte[] filterRow() {
+		byte[] cur = this.currentRow;
+		byte[] prev = (this.rowsWritten == 0) ? null : this.previousRow; // first row: everything above is 0
+		byte[] none = this.filtered[0];
+		byte[] sub = this.filtered[1];
+		byte[] up = this.filtered[2];
+		byte[] avg = this.filtered[3];
+		byte[] paeth = this.filtered[4];
+		long[] sums = new long[5];
+
+		for (int i = 0; i < cur.length; ++i) {
+			int x = cur[i] & 0xFF;
+			int a = (i >= 4) ? cur[i - 4] & 0xFF : 0;
+			int b = (prev == null) ? 0 : prev[i] & 0xFF;
+			int c = (i >= 4 && prev != null) ? prev[i - 4] & 0xFF : 0;
+
+			none[i + 1] = (byte)x;
+			sub[i + 1] = (byte)(x - a);
+			up[i + 1] = (byte)(x - b);
+			avg[i + 1] = (byte)(x - ((a + b) >> 1));
+			paeth[i + 1] = (byte)(x - paethPredictor(a, b, c));
+
+			sums[0] += Math.abs(none[i + 1]);
+			sums[1] += Math.abs(sub[i + 1]);
+			sums[2] += Math.abs(up[i + 1]);
+			sums[3] += Math.abs(avg[i + 1]);
+			sums[4] += Math.abs(paeth[i + 1]);
+		}
+
+		int best = 0;
+		for (int i = 1; i < sums.length; ++i) {
+			if (sums[i] < sums[best]) best = i;
+		}
+		return this.filtered[best];
+	}
+
+	private static int paethPredictor(int a, int b, int c) {
+		int p = a + b - c;
+		int pa = Math.abs(p - a);
+		int pb = Math.abs(p - b);
+		int pc = Math.abs(p - c);
+		if (pa <= pb && pa <= pc) return a;
+		if (pb <= pc) return b;
+		return c;
+	}
+
+	private void writeChunk(String type, byte[] data, int length) throws IOException {
+		byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+		CRC32 crc = new CRC32();
+		crc.update(typeBytes);
+		crc.update(data, 0, length);
+
+		this.os.writeInt(length);
+		this.os.write(typeBytes);
+		this.os.write(data, 0, length);
+		this.os.writeInt((int)crc.getValue());
+	}
+
+	/**
+	 * Collects the compressed data and writes it as IDAT chunks whenever enough is there
+	 */
+	private class ChunkBuffer extends OutputStream {
+		private byte[] buffer = new byte[IDAT_SIZE];
+		private int count = 0;
+
+		@Override
+		public void write(int b) throws IOException {
+			if (this.count == this.buffer.length) flushChunk();
+			this.buffer[this.count++] = (byte)b;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				if (this.count == this.buffer.length) flushChunk();
+				int n = Math.min(len, this.buffer.length - this.count);
+				System.arraycopy(b, off, this.buffer, this.count, n);
+				this.count += n;
+				off += n;
+				len -= n;
+			}
+		}
+
+		void flushChunk() throws IOException {
+			if (this.count == 0) return;
+			writeChunk("IDAT", this.buffer, this.count);
+			this.count = 0;
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package klaue.mcschematictool;
+
+/**
+ * Is told how far a long running operation is and can stop it, see SchematicReader.readSchematicsFileLazily() and
+ * SliceStack.trim()
+ * @author klaue
+ */
+public interface ProgressListener {
+	/**
+	 * Called from time to time while working, possibly from several threads at once
+	 * @param done how much of the work is done
+	 * @param total how much work there is
+	 * @return false to cancel the operation
+	 */
+	boolean progress(long done, long total);
+}
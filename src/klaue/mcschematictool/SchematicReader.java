@@ -1,14 +1,21 @@
 package klaue.mcschematictool;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.stream.IntStream;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import klaue.mcschematictool.blocktypes.Beacon;
 import klaue.mcschematictool.blocktypes.Block;
@@ -26,12 +33,11 @@ import klaue.mcschematictool.exceptions.ParseException;
 import klaue.mcschematictool.itemtypes.ColoredItem;
 import klaue.mcschematictool.itemtypes.Item;
 
-import org.jnbt.ByteArrayTag;
 import org.jnbt.ByteTag;
 import org.jnbt.CompoundTag;
 import org.jnbt.IntTag;
 import org.jnbt.ListTag;
-import org.jnbt.NBTInputStream;
+import org.jnbt.NBTConstants;
 import org.jnbt.ShortTag;
 import org.jnbt.StringTag;
 import org.jnbt.Tag;
@@ -43,7 +49,8 @@ import org.jnbt.Tag;
  *
  */
 public class SchematicReader {
-	private static boolean hasErrorHappened = false; // a bit ugly, but oh well
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static volatile boolean hasErrorHappened = false; // a bit ugly, but oh well
 	
 	/**
 	 * checks if any single block could not be read, as that does not throw the parse exception (instead the faulty block gets replaced by air)
@@ -62,44 +69,162 @@ public class SchematicReader {
 	 * @throws ParseException 
 	 */
 	public static SliceStack readSchematicsFile(File f) throws IOException, ClassicNotSupportedException, ParseException {
-		FileInputStream fis = new FileInputStream(f);
-		
-		// special case if f is not a gzip file (maybe unzipped schematic)
+		return readSchematicsFile(f, false);
+	}
+	
+	/**
+	 * Reads the given schematics file. If mapFile is set and the file is uncompressed, it is memory mapped and the blocks and data
+	 * are read directly from the mapping instead of being copied into arrays first. Compressed files are always streamed
+	 * @param f the File
+	 * @param mapFile true to memory map uncompressed files
+	 * @return a SliceStack-object of the Schematics
+	 * @throws IOException
+	 * @throws ClassicNotSupportedException
+	 * @throws ParseException 
+	 */
+	public static SliceStack readSchematicsFile(File f, boolean mapFile) throws IOException, ClassicNotSupportedException, ParseException {
+		return readSchematicsFile(f, mapFile, false);
+	}
+	
+	/**
+	 * Reads the given schematics file. If mapFile is set and the file is uncompressed, it is memory mapped and the blocks and data
+	 * are read directly from the mapping instead of being copied into arrays first. Compressed files are always streamed.<br>
+	 * If parallel is set, the slices are built at the same time on the common fork join pool, one task per layer
+	 * @param f the File
+	 * @param mapFile true to memory map uncompressed files
+	 * @param parallel true to build the layers in parallel
+	 * @return a SliceStack-object of the Schematics
+	 * @throws IOException
+	 * @throws ClassicNotSupportedException
+	 * @throws ParseException 
+	 */
+	public static SliceStack readSchematicsFile(File f, boolean mapFile, boolean parallel) throws IOException, ClassicNotSupportedException, ParseException {
+		final SchematicSource source = readSource(f, mapFile, null);
 		try {
-			GZIPInputStream gis = new GZIPInputStream(fis);
-			gis.close();
-		} catch (IOException e) {
-			if (!e.getMessage().toLowerCase().contains("not in gzip format")) {
-				// rethrow
-				throw e;
+			final SliceStack schematic = new SliceStack(source.height, source.length, source.width);
+			
+			// the layers only share the read only block data and tile entities, so they can be built independently
+			boolean faulty;
+			if (parallel && source.height > 1) {
+				faulty = IntStream.range(0, source.height).parallel()
+						.mapToObj(slz -> readLayer(schematic.getSlice(slz), slz, 0, 0, source))
+						.reduce(false, (a, b) -> a || b);
+			} else {
+				faulty = false;
+				for (int slz = 0; slz < source.height; ++slz) {
+					faulty |= readLayer(schematic.getSlice(slz), slz, 0, 0, source);
+				}
 			}
-			// not gzip - zip it to temp
-			String name = f.getName();
-			name = name.substring(0, name.lastIndexOf('.'));
-			File outFile = File.createTempFile(name, ".schematic");
-			GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(outFile));
-	        FileInputStream in = new FileInputStream(f);
-	        byte[] buf = new byte[1024];
-	        int len;
-	        while ((len = in.read(buf)) > 0) {
-	            out.write(buf, 0, len);
-	        }
-	        in.close();
-	        // Complete the GZIP file
-	        out.finish();
-	        out.close();
-	        f = outFile;
-	        f.deleteOnExit();
-	        System.err.println("Input schematic was not in gzip format! Tried to fix it to " + f.getAbsolutePath());
+			hasErrorHappened = faulty;
+			
+			return schematic;
+		} catch (Exception e) {
+			e.printStackTrace();
+			throw new ParseException(e);
 		}
+	}
+	
+	/**
+	 * Reads the given schematics file into a lazy SliceStack. Only the block data and the tile entities are read, a slice is built
+	 * when it is first needed and only the last maxResidentSlices used slices are kept in memory, see SliceStack.<br>
+	 * Faulty blocks are found when their slice is built, so hasErrorHappened() only covers the slices built so far
+	 * @param f the File
+	 * @param mapFile true to memory map uncompressed files, so not even the block data has to be in memory
+	 * @param maxResidentSlices the number of slices that are kept in memory, at least 3 if redstone wires are calculated
+	 * @return a lazy SliceStack-object of the Schematics
+	 * @throws IOException
+	 * @throws ClassicNotSupportedException
+	 * @throws ParseException 
+	 */
+	public static SliceStack readSchematicsFileLazily(File f, boolean mapFile, int maxResidentSlices) throws IOException, ClassicNotSupportedException, ParseException {
+		return readSchematicsFileLazily(f, mapFile, maxResidentSlices, null);
+	}
+	
+	/**
+	 * Reads the given schematics file into a lazy SliceStack, see readSchematicsFileLazily(File, boolean, int). The listener is told
+	 * how many bytes of the file have been read so far, memory mapped files are not read up front and not reported
+	 * @param f the File
+	 * @param mapFile true to memory map uncompressed files, so not even the block data has to be in memory
+	 * @param maxResidentSlices the number of slices that are kept in memory, at least 3 if redstone wires are calculated
+	 * @param listener the listener or null. If it cancels, an InterruptedIOException is thrown
+	 * @return a lazy SliceStack-object of the Schematics
+	 * @throws IOException
+	 * @throws ClassicNotSupportedException
+	 * @throws ParseException 
+	 */
+	public static SliceStack readSchematicsFileLazily(File f, boolean mapFile, int maxResidentSlices, ProgressListener listener)
+			throws IOException, ClassicNotSupportedException, ParseException {
+		SchematicSource source = readSource(f, mapFile, listener);
+		hasErrorHappened = false;
+		return new SliceStack(source, source.height, source.length, source.width, maxResidentSlices);
+	}
+	
+	/**
+	 * Reads the size, the blocks and the tile entities of the given schematics file
+	 * @param f the File
+	 * @param mapFile true to memory map uncompressed files
+	 * @param listener the listener for the bytes read or null
+	 * @return the source of the slices
+	 * @throws IOException
+	 * @throws ClassicNotSupportedException
+	 * @throws ParseException 
+	 */
+	private static SchematicSource readSource(File f, boolean mapFile, ProgressListener listener) throws IOException, ClassicNotSupportedException, ParseException {
+		// walk through the tags instead of reading the whole tree, so only the parts that are needed are kept in memory
+		int length = -1; // width of slice!
+		int width = -1; // height of slice!
+		int height = -1;
+		String materials = null;
+		ByteBuffer blocks = null;
+		ByteBuffer data = null;
+		List<Map<String, Tag>> entities = new ArrayList<Map<String, Tag>>();
 		
-		NBTInputStream nis = new NBTInputStream(new FileInputStream(f));
-		CompoundTag master = (CompoundTag) nis.readTag();
-		//System.out.println(master);
-		nis.close();
-		Map<String, Tag> masterMap = master.getValue();
+		NBTPullParser parser = null;
+		if (mapFile) {
+			ByteBuffer mapped = mapRawFile(f);
+			if (mapped != null) parser = new NBTPullParser(mapped);
+		}
+		if (parser == null) parser = new NBTPullParser(openNBTStream(f, listener));
+		try {
+			if (parser.nextTag() != NBTConstants.TYPE_COMPOUND) {
+				throw new IOException("Schematic file does not start with a compound tag");
+			}
+			int type;
+			while ((type = parser.nextTag()) != NBTConstants.TYPE_END) {
+				String name = parser.getName();
+				if (type == NBTConstants.TYPE_STRING && name.equals("Materials")) {
+					materials = parser.readString();
+				} else if (type == NBTConstants.TYPE_SHORT && name.equals("Width")) {
+					length = parser.readShort();
+				} else if (type == NBTConstants.TYPE_SHORT && name.equals("Length")) {
+					width = parser.readShort();
+				} else if (type == NBTConstants.TYPE_SHORT && name.equals("Height")) {
+					height = parser.readShort();
+				} else if (type == NBTConstants.TYPE_BYTE_ARRAY && name.equals("Blocks")) {
+					blocks = parser.readByteArrayView();
+				} else if (type == NBTConstants.TYPE_BYTE_ARRAY && name.equals("Data")) {
+					data = parser.readByteArrayView();
+				} else if (type == NBTConstants.TYPE_LIST && name.equals("TileEntities")) {
+					// decode the tile entities one by one, without building the list tag
+					int entityCount = parser.beginList();
+					int entityType = parser.getListType();
+					for (int i = 0; i < entityCount; ++i) {
+						if (entityType == NBTConstants.TYPE_COMPOUND) {
+							entities.add(parser.readCompound());
+						} else {
+							parser.skip(entityType);
+						}
+					}
+				} else {
+					// entities and everything else we don't need
+					parser.skip(type);
+				}
+			}
+		} finally {
+			parser.close();
+		}
 
-		if (masterMap.get("Materials") == null || !((StringTag)masterMap.get("Materials")).getValue().equalsIgnoreCase("alpha")) {
+		if (materials == null || !materials.equalsIgnoreCase("alpha")) {
 			throw new ClassicNotSupportedException();
 		}
 			
@@ -117,236 +242,317 @@ public class SchematicReader {
 			// (bottom)
 			
 			// length in MC means the depth (height of stack) but in MCSchematicTool, it means the width of the slice
-			int length = ((ShortTag) masterMap.get("Width")).getValue(); // width of slice!
-			int width = ((ShortTag) masterMap.get("Length")).getValue(); // height of slice!
-			int height = ((ShortTag) masterMap.get("Height")).getValue();
-			hasErrorHappened = false;
-			
-			SliceStack schematic = new SliceStack(height, length, width);
-			byte[] blocks = ((ByteArrayTag) masterMap.get("Blocks")).getValue();
-			byte[] data = ((ByteArrayTag) masterMap.get("Data")).getValue();
+			if (length < 0 || width < 0 || height < 0 || blocks == null || data == null) {
+				throw new ParseException("Schematic is missing the size, the blocks or the block data");
+			}
+			if (blocks.limit() < length * width * height || data.limit() < length * width * height) {
+				throw new ParseException("Schematic contains less blocks than its size suggests");
+			}
 			
 			// get tile entities
-			List<Tag> entities = ((ListTag) masterMap.get("TileEntities")).getValue();
-			Map<Integer, Map<String, Tag> > idxEntitiesMap = new TreeMap<Integer, Map<String, Tag> >();
-			for (Tag tag : entities) {
-				Map<String, Tag> cmpMap = ((CompoundTag)tag).getValue();
+			int[] entityIndices = new int[entities.size()];
+			for (int i = 0; i < entityIndices.length; ++i) {
+				Map<String, Tag> cmpMap = entities.get(i);
 				int y = ((IntTag) cmpMap.get("z")).getValue(); // mc's y and z are not the same
 				int z = ((IntTag) cmpMap.get("y")).getValue();
 				int x = ((IntTag) cmpMap.get("x")).getValue();
 				//Index = (z * width * length) + (y * length) + x
 				//Index = x+(y+z*width) * length
-				int blockIndex = x + (y + z * width) * length;
-				idxEntitiesMap.put(blockIndex, cmpMap);
+				entityIndices[i] = x + (y + z * width) * length;
 			}
+			TileEntityIndex tileEntities = new TileEntityIndex(entityIndices, entities);
+			entities = null;
 			
-			int blocknumber = 0;
-			for (int slz = 0; slz < height; ++slz) {
-				Slice s = schematic.getSlice(slz);
-				for (int y = 0; y < width; ++y) { // height of slice
-					for (int x = 0; x < length; ++x) { // width of slice
-						Block block = null;
+			return new SchematicSource(length, width, height, blocks, data, tileEntities);
+		} catch (Exception e) {
+			e.printStackTrace();
+			throw new ParseException(e);
+		}
+	}
+	
+	/**
+	 * Fills the given slice with the blocks of a part of its layer
+	 * @param s the empty slice, as big as the part
+	 * @param slz the number of the layer
+	 * @param left the first column of the part
+	 * @param top the first row of the part
+	 * @param source the blocks, data and tile entities of the whole schematic
+	 * @return true if a block was faulty and has been replaced by air
+	 */
+	private static boolean readLayer(Slice s, int slz, int left, int top, SchematicSource source) {
+		boolean faulty = false;
+		ByteBuffer blocks = source.blocks;
+		ByteBuffer data = source.data;
+		int length = s.getWidth(); // width of slice
+		int width = s.getHeight(); // height of slice
+		int layerStart = slz * source.length * source.width;
+		// the blocks are read in index order
+		TileEntityIndex.Cursor idxEntities = source.tileEntities.cursor(layerStart + top * source.length + left);
+		
+		for (int y = 0; y < width; ++y) { // height of slice
+			int blocknumber = layerStart + (y + top) * source.length + left;
+			for (int x = 0; x < length; ++x) { // width of slice
+				Block block = null;
 						
-						// &0xFF is because the array uses unsigned bytes while java uses signed ones. it converts values like -127 back to values like 129
-						short blockid = (short)(blocks[blocknumber] & 0xFF);
-						try {
-							// check for special type of block
-							// special blocks are those that have tile entities
-							if (blockid == 54 || blockid == 146 || blockid == 23 || blockid == 154 || blockid == 158) {
-								//chest, trapped chest, dispenser, hopper, dropper
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume empty chest/dispenser/hopper/dropper
-									switch(blockid) {
-										case 146: // trapped chest
-										case 54:	block = new Chest(blockid);							break;
-										case 23:	block = new Dispenser(null, data[blocknumber]);		break;
-										case 154:	block = new Hopper(null, data[blocknumber]);		break;
-										case 158:
-										default:	block = new Dropper(null, data[blocknumber]);		break;
-									}
-								} else {
-									String tagId = ((StringTag)tileEntity.get("id")).getValue();
-									if (((blockid == 54 || blockid == 146) && !tagId.equals("Chest"))
-											|| (blockid == 23 && !tagId.equals("Trap"))
-											|| (blockid == 154 && !tagId.equals("Hopper"))
-											|| (blockid == 158 && !tagId.equals("Dropper"))) {
-										throw new ParseException("Contains a container, id " + blockid + " that has a wrong tile entity of type " + tagId);
-									}
+				// &0xFF is because the array uses unsigned bytes while java uses signed ones. it converts values like -127 back to values like 129
+				short blockid = (short)(blocks.get(blocknumber) & 0xFF);
+				byte blockdata = data.get(blocknumber);
+				try {
+					// check for special type of block
+					// special blocks are those that have tile entities
+					if (blockid == 54 || blockid == 146 || blockid == 23 || blockid == 154 || blockid == 158) {
+						//chest, trapped chest, dispenser, hopper, dropper
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume empty chest/dispenser/hopper/dropper
+							switch(blockid) {
+								case 146: // trapped chest
+								case 54:	block = new Chest(blockid);							break;
+								case 23:	block = new Dispenser(null, blockdata);		break;
+								case 154:	block = new Hopper(null, blockdata);		break;
+								case 158:
+								default:	block = new Dropper(null, blockdata);		break;
+							}
+						} else {
+							String tagId = ((StringTag)tileEntity.get("id")).getValue();
+							if (((blockid == 54 || blockid == 146) && !tagId.equals("Chest"))
+									|| (blockid == 23 && !tagId.equals("Trap"))
+									|| (blockid == 154 && !tagId.equals("Hopper"))
+									|| (blockid == 158 && !tagId.equals("Dropper"))) {
+								throw new ParseException("Contains a container, id " + blockid + " that has a wrong tile entity of type " + tagId);
+							}
 									
-									// get chest items
-									Item[] items = null;
-									if (blockid == 54 || blockid == 146) { // chest
-										items = new Item[27];
-									} else if (blockid == 23 || blockid == 158) { // dispenser/dropper
-										items = new Item[9];
-									} else { // hopper
-										items = new Item[5];
-									}
-									Arrays.fill(items, new Item());
+							// get chest items
+							Item[] items = null;
+							if (blockid == 54 || blockid == 146) { // chest
+								items = new Item[27];
+							} else if (blockid == 23 || blockid == 158) { // dispenser/dropper
+								items = new Item[9];
+							} else { // hopper
+								items = new Item[5];
+							}
+							Arrays.fill(items, new Item());
 									
-									List<Tag> itemList = ((ListTag) tileEntity.get("Items")).getValue();
-									for (Tag tag : itemList) {
-										addItemToListFromCompound(items, (CompoundTag) tag);
-									}
+							List<Tag> itemList = ((ListTag) tileEntity.get("Items")).getValue();
+							for (Tag tag : itemList) {
+								addItemToListFromCompound(items, (CompoundTag) tag);
+							}
 									
-									switch(blockid) {
-										case 146: // trapped chest
-										case 54:	block = new Chest(blockid, items);					break;
-										case 23:	block = new Dispenser(items, data[blocknumber]);	break;
-										case 154:	block = new Hopper(items, data[blocknumber]);		break;
-										case 158:
-										default:	block = new Dropper(items, data[blocknumber]);		break;
-									}
-								}
-							} else if (blockid == 25) {
-								// note
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume default noteblock
-									block = new Note((byte)0);
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Music")) {
-										throw new ParseException("Contains a note block that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
-									byte pitch = ((ByteTag)tileEntity.get("note")).getValue();
-									block = new Note(pitch);
-								}
-							} else if (blockid == 63 || blockid == 68) {
-								// sign
-								boolean isWallSign = (blockid == 68);
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume empty sign
-									block = new Sign(null, isWallSign, data[blocknumber]);
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Sign")) {
-										throw new ParseException("Contains a sign that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
-									String text[] = new String[4];
-									text[0] = ((StringTag)tileEntity.get("Text1")).getValue();
-									text[1] = ((StringTag)tileEntity.get("Text2")).getValue();
-									text[2] = ((StringTag)tileEntity.get("Text3")).getValue();
-									text[3] = ((StringTag)tileEntity.get("Text4")).getValue();
-									block = new Sign(text, isWallSign, data[blocknumber]);
-								}
-							} else if (blockid == 117) {
-								// brewing stand
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume empty brewing stand
-									block = new BrewingStand();
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Cauldron")) {
-										throw new ParseException("Contains a brewing stand that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
+							switch(blockid) {
+								case 146: // trapped chest
+								case 54:	block = new Chest(blockid, items);					break;
+								case 23:	block = new Dispenser(items, blockdata);	break;
+								case 154:	block = new Hopper(items, blockdata);		break;
+								case 158:
+								default:	block = new Dropper(items, blockdata);		break;
+							}
+						}
+					} else if (blockid == 25) {
+						// note
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume default noteblock
+							block = new Note((byte)0);
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Music")) {
+								throw new ParseException("Contains a note block that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
+							byte pitch = ((ByteTag)tileEntity.get("note")).getValue();
+							block = new Note(pitch);
+						}
+					} else if (blockid == 63 || blockid == 68) {
+						// sign
+						boolean isWallSign = (blockid == 68);
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume empty sign
+							block = new Sign(null, isWallSign, blockdata);
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Sign")) {
+								throw new ParseException("Contains a sign that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
+							String text[] = new String[4];
+							text[0] = ((StringTag)tileEntity.get("Text1")).getValue();
+							text[1] = ((StringTag)tileEntity.get("Text2")).getValue();
+							text[2] = ((StringTag)tileEntity.get("Text3")).getValue();
+							text[3] = ((StringTag)tileEntity.get("Text4")).getValue();
+							block = new Sign(text, isWallSign, blockdata);
+						}
+					} else if (blockid == 117) {
+						// brewing stand
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume empty brewing stand
+							block = new BrewingStand();
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Cauldron")) {
+								throw new ParseException("Contains a brewing stand that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
 									
-									// get chest items
-									Item[] items = new Item[4];
-									Arrays.fill(items, new Item());
+							// get chest items
+							Item[] items = new Item[4];
+							Arrays.fill(items, new Item());
 									
-									List<Tag> itemList = ((ListTag) tileEntity.get("Items")).getValue();
-									for (Tag tag : itemList) {
-										addItemToListFromCompound(items, (CompoundTag) tag);
-									}
+							List<Tag> itemList = ((ListTag) tileEntity.get("Items")).getValue();
+							for (Tag tag : itemList) {
+								addItemToListFromCompound(items, (CompoundTag) tag);
+							}
 									
-									// brewing time is defined as being IntTag, but some schematic files fly around in which it is ShortTag
-									Tag brewingTimeTag = tileEntity.get("BrewTime");
-									int brewingTime = 0;
-									if (brewingTimeTag instanceof ShortTag) {
-										brewingTime = ((ShortTag)brewingTimeTag).getValue();
-									} else {
-										brewingTime = ((IntTag)brewingTimeTag).getValue();
-									}
+							// brewing time is defined as being IntTag, but some schematic files fly around in which it is ShortTag
+							Tag brewingTimeTag = tileEntity.get("BrewTime");
+							int brewingTime = 0;
+							if (brewingTimeTag instanceof ShortTag) {
+								brewingTime = ((ShortTag)brewingTimeTag).getValue();
+							} else {
+								brewingTime = ((IntTag)brewingTimeTag).getValue();
+							}
 									
-									block = new BrewingStand(data[blocknumber], items, brewingTime);
-								}
-							} else if (blockid == 137) {
-								// command block
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume empty command block
-									block = new CommandBlock();
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Control")) {
-										throw new ParseException("Contains a command block that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
-									String command = ((StringTag) tileEntity.get("Command")).getValue();
-									Integer strength = ((IntTag) tileEntity.get("SuccessCount")).getValue();
-									int signalStrength = (strength == null) ? 0 : strength;
-									block = new CommandBlock(command, signalStrength);
-								}
-							} else if (blockid == 138) {
-								// beacon
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume empty beacon
-									block = new Beacon();
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Beacon")) {
-										throw new ParseException("Contains a beacon that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
-									Integer levels = ((IntTag) tileEntity.get("Levels")).getValue();
-									Integer primary = ((IntTag) tileEntity.get("Primary")).getValue();
-									Integer secondary = ((IntTag) tileEntity.get("Secondary")).getValue();
-									if (levels == null) levels = 0;
-									if (primary == null) primary = 0;
-									if (secondary == null) secondary = 0;
-									block = new Beacon(primary, secondary, levels);
-								}
-							} else if (blockid == 144) {
-								// mob head
-								Map<String, Tag> tileEntity = idxEntitiesMap.get(blocknumber);
-								if (tileEntity == null) {
-									// assume default mob head
-									block = Block.getInstance(blockid, data[blocknumber]);
-								} else {
-									if (!((StringTag)tileEntity.get("id")).getValue().equals("Skull")) {
-										throw new ParseException("Contains a mob head that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
-									}
-									Byte skullType = ((ByteTag) tileEntity.get("SkullType")).getValue();
-									/* In 1.8+, there are Block State data values that need to be 
-									*  read instead.
-									* For now, just ignore it if it's null.
-									*/
-									String name = "Herobrine";
-									if (tileEntity.get("ExtraType") != null){
-										name = ((StringTag) tileEntity.get("ExtraType")).getValue();
-									}
-									//String name = ((StringTag) tileEntity.get("ExtraType")).getValue();
-									Byte rotation = ((ByteTag) tileEntity.get("Rot")).getValue();
+							block = new BrewingStand(blockdata, items, brewingTime);
+						}
+					} else if (blockid == 137) {
+						// command block
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume empty command block
+							block = new CommandBlock();
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Control")) {
+								throw new ParseException("Contains a command block that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
+							String command = ((StringTag) tileEntity.get("Command")).getValue();
+							Integer strength = ((IntTag) tileEntity.get("SuccessCount")).getValue();
+							int signalStrength = (strength == null) ? 0 : strength;
+							block = new CommandBlock(command, signalStrength);
+						}
+					} else if (blockid == 138) {
+						// beacon
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume empty beacon
+							block = new Beacon();
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Beacon")) {
+								throw new ParseException("Contains a beacon that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
+							Integer levels = ((IntTag) tileEntity.get("Levels")).getValue();
+							Integer primary = ((IntTag) tileEntity.get("Primary")).getValue();
+							Integer secondary = ((IntTag) tileEntity.get("Secondary")).getValue();
+							if (levels == null) levels = 0;
+							if (primary == null) primary = 0;
+							if (secondary == null) secondary = 0;
+							block = new Beacon(primary, secondary, levels);
+						}
+					} else if (blockid == 144) {
+						// mob head
+						Map<String, Tag> tileEntity = idxEntities.get(blocknumber);
+						if (tileEntity == null) {
+							// assume default mob head
+							s.setBlockState(blockid, blockdata, x, y);
+						} else {
+							if (!((StringTag)tileEntity.get("id")).getValue().equals("Skull")) {
+								throw new ParseException("Contains a mob head that has a tile entity of type " + ((StringTag)tileEntity.get("id")).getValue() + ":\n" + tileEntity.toString());
+							}
+							Byte skullType = ((ByteTag) tileEntity.get("SkullType")).getValue();
+							/* In 1.8+, there are Block State data values that need to be 
+							*  read instead.
+							* For now, just ignore it if it's null.
+							*/
+							String name = "Herobrine";
+							if (tileEntity.get("ExtraType") != null){
+								name = ((StringTag) tileEntity.get("ExtraType")).getValue();
+							}
+							//String name = ((StringTag) tileEntity.get("ExtraType")).getValue();
+							Byte rotation = ((ByteTag) tileEntity.get("Rot")).getValue();
 									
-									// should never be null, but just in case, set default values
-									if (skullType == null) skullType = 3; // human
-									if (rotation == null) rotation = 8; // north
+							// should never be null, but just in case, set default values
+							if (skullType == null) skullType = 3; // human
+							if (rotation == null) rotation = 8; // north
 									
-									block = new MobHead(skullType, rotation, name, data[blocknumber]);
-								}
-							} else {
-								// boring everyday block or block with data value
-								block = Block.getInstance(blockid, data[blocknumber]);
-							}
-						} catch (Exception e) {
-							// current block is faulty, replace with air
-							System.err.print("Faulty block (" + blockid + ":" + data[blocknumber] + ") at slice " + slz + ", column " + x + ", row " + y + ". ");
-							e.printStackTrace();
-							hasErrorHappened = true;
-							block = new Block(); // air
+							block = new MobHead(skullType, rotation, name, blockdata);
 						}
-						
-						s.setBlock(block, x, y);
-						++blocknumber;
+					} else {
+						// boring everyday block or block with data value - shared with all other blocks of the same id and data
+						s.setBlockState(blockid, blockdata, x, y);
 					}
+				} catch (Exception e) {
+					// current block is faulty, replace with air
+					System.err.print("Faulty block (" + blockid + ":" + blockdata + ") at slice " + slz + ", column " + (left + x) + ", row " + (top + y) + ". ");
+					e.printStackTrace();
+					faulty = true;
+					block = null;
+					s.setBlockState((short)0, (byte)0, x, y); // air
+				}
+						
+				if (block != null) {
+					// block with own state, like a chest
+					s.setBlock(block, x, y);
 				}
+				++blocknumber;
 			}
+		}
+		return faulty;
+	}
+	
+	/**
+	 * Maps the given file into memory if it is an uncompressed NBT file
+	 * @param f the file
+	 * @return the read only mapping or null if the file is compressed (or empty or too big to be mapped at once)
+	 * @throws IOException
+	 */
+	private static ByteBuffer mapRawFile(File f) throws IOException {
+		FileInputStream fis = new FileInputStream(f);
+		try {
+			FileChannel channel = fis.getChannel();
+			long size = channel.size();
+			if (size == 0 || size > Integer.MAX_VALUE) return null;
 			
-			return schematic;
-		} catch (Exception e) {
-			e.printStackTrace();
-			throw new ParseException(e);
+			// the mapping stays valid after the channel is closed
+			ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (mapped.get(0) != NBTConstants.TYPE_COMPOUND) return null;
+			return mapped;
+		} finally {
+			fis.close();
 		}
 	}
 	
+	/**
+	 * Opens the given file as a stream of uncompressed NBT data. Schematics are normally gzipped, but the format is sniffed from
+	 * the first bytes, so zlib-compressed and raw (unzipped) files are read directly too
+	 * @param f the file
+	 * @param listener the listener for the bytes read from the file or null
+	 * @return a buffered stream of the uncompressed data
+	 * @throws IOException if the file could not be read or is in none of the known formats
+	 */
+	private static InputStream openNBTStream(File f, ProgressListener listener) throws IOException {
+		InputStream fis = new FileInputStream(f);
+		if (listener != null) fis = new ProgressInputStream(fis, f.length(), listener);
+		BufferedInputStream bis = new BufferedInputStream(fis, BUFFER_SIZE);
+		try {
+			bis.mark(2);
+			int first = bis.read();
+			int second = bis.read();
+			bis.reset();
+			
+			if (first == 0x1F && second == 0x8B) {
+				// gzip magic number - the normal case
+				return new BufferedInputStream(new GZIPInputStream(bis, BUFFER_SIZE), BUFFER_SIZE);
+			}
+			if ((first & 0x0F) == 8 && second >= 0 && ((first << 8) | second) % 31 == 0) {
+				// zlib header: deflate compression method and valid header checksum
+				return new BufferedInputStream(new InflaterInputStream(bis, new Inflater(), BUFFER_SIZE), BUFFER_SIZE);
+			}
+			if (first == NBTConstants.TYPE_COMPOUND) {
+				// uncompressed, the root compound tag
+				return bis;
+			}
+		} catch (IOException e) {
+			bis.close();
+			throw e;
+		}
+		bis.close();
+		throw new IOException("Unknown file format, neither gzip, zlib or uncompressed NBT: " + f.getName());
+	}
+	
 	/**
 	 * Adds the given item to the given item array
 	 * @param items the array of items
@@ -355,13 +561,17 @@ public class SchematicReader {
 	private static void addItemToListFromCompound(Item[] items, CompoundTag itemTag) {
 		
 		Map<String, Tag> itemMap = itemTag.getValue();
-		//System.err.print("Trying to convert " + (itemMap.get("id")).getValue() + " to a Short. ");
-		/* Items aren't always going to be shorts anymore.  Need to detect type and if necessary,
-		 * convert "minecraft:item" tag to a short value, using the mcNameToShortID(String) function.
-		 */
-	 
-		String itemName = (String)(itemMap.get("id")).getValue().toString();
-		short itemId = mcNameToShortID(itemName);
+		
+		// the id is a short in older schematics and a namespaced id like "minecraft:arrow" since 1.8
+		Tag idTag = itemMap.get("id");
+		short itemId;
+		if (idTag instanceof ShortTag) {
+			itemId = ((ShortTag)idTag).getValue();
+		} else if (idTag instanceof StringTag) {
+			itemId = mcNameToShortID(((StringTag)idTag).getValue());
+		} else {
+			itemId = mcNameToShortID(idTag.getValue().toString());
+		}
 		
 		byte itemCount = ((ByteTag)itemMap.get("Count")).getValue();
 		byte itemSlot = ((ByteTag)itemMap.get("Slot")).getValue();
@@ -400,29 +610,110 @@ public class SchematicReader {
 		} // display != null
 	} // fnc
 	
+	/**
+	 * Converts a namespaced id (like minecraft:arrow) to the numeric id, see minecraftNameIDMap.txt. Ids written as a number
+	 * are parsed
+	 * @param mcName the namespaced id
+	 * @return the id or 0 if the name is unknown
+	 */
 	public static short mcNameToShortID(String mcName) {
+		short id = NamespacedIdRegistry.getId(mcName);
+		if (id != -1) return id;
+		try {
+			return Short.parseShort(mcName);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+	
+	/**
+	 * Tells a listener how many bytes of a file have been read, and stops reading if it cancels
+	 */
+	private static class ProgressInputStream extends FilterInputStream {
+		private final long total;
+		private final ProgressListener listener;
+		private long done = 0;
 		
-		/*
-		 * This is a simple lookup, so put all data values and elements in a text file (tab delimited, I suppose)
-		 * 
-		 * 
-Idea:
-Read file "minecraftNameIDMap.txt", tab delimited".
-
-Map<String, Integer> myMap = new HashMap<String, Integer>();
-String s = "SALES:0,SALE_PRODUCTS:1,EXPENSES:2,EXPENSES_ITEMS:3";
-String[] pairs = s.split(",");
-for (int i=0;i<pairs.length;i++) {
-    String pair = pairs[i];
-    String[] keyValue = pair.split(":");
-    myMap.put(keyValue[0], Integer.valueOf(keyValue[1]));
-}
-		 * 
-		 * 
-		 */
-		switch(mcName) {
-			case "minecraft:arrow":	return 262; 	//minecraft:arrow
+		ProgressInputStream(InputStream in, long total, ProgressListener listener) {
+			super(in);
+			this.total = total;
+			this.listener = listener;
+		}
+		
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) report(1);
+			return b;
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) report(read);
+			return read;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			report(skipped);
+			return skipped;
+		}
+		
+		private void report(long bytes) throws InterruptedIOException {
+			this.done += bytes;
+			if (!this.listener.progress(this.done, this.total)) throw new InterruptedIOException("Reading cancelled");
+		}
+	}
+	
+	/**
+	 * The block data and tile entities of a schematic file, from which the slices are read
+	 */
+	private static class SchematicSource implements SliceSource {
+		final int length; // width of slice
+		final int width; // height of slice
+		final int height;
+		final ByteBuffer blocks;
+		final ByteBuffer data;
+		final TileEntityIndex tileEntities;
+		
+		SchematicSource(int length, int width, int height, ByteBuffer blocks, ByteBuffer data, TileEntityIndex tileEntities) {
+			this.length = length;
+			this.width = width;
+			this.height = height;
+			this.blocks = blocks;
+			this.data = data;
+			this.tileEntities = tileEntities;
+		}
+		
+		@Override
+		public Slice readSlice(int layer, int left, int top, int length, int width) {
+			Slice s = new Slice(length, width);
+			if (readLayer(s, layer, left, top, this)) {
+				hasErrorHappened = true;
+			}
+			return s;
+		}
+		
+		@Override
+		public int[] getBounds(int layer, int left, int top, int length, int width) {
+			int minX = Integer.MAX_VALUE, minY = -1, maxX = -1, maxY = -1;
+			int layerStart = layer * this.length * this.width;
+			for (int y = 0; y < width; ++y) {
+				int rowStart = layerStart + (y + top) * this.length + left;
+				for (int x = 0; x < length; ++x) {
+					// absolute get, so the buffer can be used by multiple threads
+					if (this.blocks.get(rowStart + x) != 0) {
+						if (minY < 0) minY = y;
+						maxY = y;
+						if (x < minX) minX = x;
+						if (x > maxX) maxX = x;
+					}
+				}
+			}
+			if (minY < 0) return null;
+			return new int[] {minX, minY, maxX, maxY};
 		}
-		return 0;
 	}
 }
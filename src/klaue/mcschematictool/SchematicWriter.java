@@ -81,6 +81,7 @@ public class SchematicWriter {
 			
 			for (int slz = 0; slz < stack.getHeight(); ++slz) {
 				Slice slice = stack.getSlice(slz);
+				slice.applyRotation(); // the rows are read in order
 				for (int y = 0; y < slice.getHeight(); ++y) {
 					for (int x = 0; x < slice.getWidth(); ++x) {
 						Block block = slice.getBlockAt(x, y);
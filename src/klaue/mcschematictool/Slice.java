@@ -2,20 +2,33 @@ package klaue.mcschematictool;
 import java.awt.Color;
 import java.awt.image.BufferedImage;
 import java.security.InvalidParameterException;
-import java.util.Arrays;
 
 import klaue.mcschematictool.blocktypes.Block;
-import klaue.mcschematictool.blocktypes.RedstoneWire;
-import klaue.mcschematictool.blocktypes.TripWire;
 
 
 /**
- * One horizontal (2D) slice of the schematic
+ * One horizontal (2D) slice of the schematic.<br>
+ * The blocks are not saved as single objects but as indices into a palette of the distinct block states of this slice,
+ * see BlockPalette.<br>
+ * Turning a slice does not move the blocks, only the way positions are mapped to the stored ones is changed (and the blocks in
+ * the palette are turned). applyRotation() lays them out in the new order if they are going to be read row by row a lot.
+ * Cutting off a part doesn't copy the blocks either, the slice just shows a smaller part of them until compact() is called
  * @author klaue
  *
  */
 public class Slice {
-	private Block[][] blocks;
+	private static final int TILE_SIZE = 32; // blocks per side of the tiles applyRotation() copies at once
+	
+	private BlockPalette palette;
+	// palette index per position, ordered by row (y * width + x) like in the schematic file. Read as unsigned
+	private short[] indices;
+	// used instead of indices once the palette has more entries than fit in a short
+	private int[] wideIndices = null;
+	private int width;
+	private int height;
+	private int orientation = 0; // clockwise quarter turns since the blocks were laid out
+	private int offset = 0; // position of the first stored block that is still part of the slice (the rest is cut off)
+	private int stride; // stored blocks per row, including the cut off ones
 	
 	/**
 	 * Returns a slice of the given size initialized to air
@@ -23,27 +36,76 @@ public class Slice {
 	 * @param height
 	 */
 	public Slice(int width, int height) {
-		this.blocks = new Block[width][];
-		
-		// initialize to air
-		for (int i = 0; i < width; ++i) {
-			this.blocks[i] = new Block[height];
-			Arrays.fill(this.blocks[i], new Block());
-		}
+		this.palette = new BlockPalette();
+		this.width = width;
+		this.height = height;
+		this.stride = width;
+		this.indices = new short[width * height]; // index 0 is air
 	}
 	
 	/**
-	 * Return the block at [x][y]
+	 * Return the block at [x][y]<br>
+	 * Note that blocks without own state are shared between all positions with the same id and data. Use getMutableBlockAt() if
+	 * you want to change the returned block
 	 * @param x
 	 * @param y
 	 * @return the block
 	 * @throws IndexOutOfBoundsException
 	 */
 	public Block getBlockAt(int x, int y) {
-		if (x >= this.blocks.length || x < 0 || y >= this.blocks[x].length || y < 0) {
-			throw new IndexOutOfBoundsException(x + " (x) or " + y + " (y) not in slice");
+		checkBounds(x, y);
+		return this.palette.get(getIndex(toStored(x, y)));
+	}
+	
+	/**
+	 * Return the block at [x][y] as an instance that is used by this position only, so it can be changed without changing
+	 * other positions
+	 * @param x
+	 * @param y
+	 * @return the block
+	 * @throws IndexOutOfBoundsException
+	 */
+	public Block getMutableBlockAt(int x, int y) {
+		checkBounds(x, y);
+		int pos = toStored(x, y);
+		int index = getIndex(pos);
+		if (!this.palette.isShared(index)) {
+			return this.palette.get(index);
 		}
-		return this.blocks[x][y];
+		
+		Block shared = this.palette.get(index);
+		Block block = Block.getInstance(shared.getId(), shared.getData());
+		setIndex(pos, this.palette.addUnique(block));
+		return block;
+	}
+	
+	/**
+	 * Gets the id of the block at [x][y] without the need to get the block itself
+	 * @param x
+	 * @param y
+	 * @return the id of the block
+	 * @throws IndexOutOfBoundsException
+	 */
+	public short getIdAt(int x, int y) {
+		checkBounds(x, y);
+		return this.palette.getId(getIndex(toStored(x, y)));
+	}
+	
+	/**
+	 * Gets the index of the block at [x][y] in the palette, without checking the bounds
+	 * @param x
+	 * @param y
+	 * @return the palette index
+	 */
+	int getIndexAt(int x, int y) {
+		return getIndex(toStored(x, y));
+	}
+	
+	/**
+	 * @return the palette of the blocks of this slice
+	 */
+	BlockPalette getPalette() {
+		return this.palette;
 	}
 	
 	/**
@@ -54,10 +116,68 @@ public class Slice {
 	 * @throws IndexOutOfBoundsException
 	 */
 	public void setBlock(Block block, int x, int y) {
-		if (x >= this.blocks.length || x < 0 || y >= this.blocks[x].length || y < 0) {
+		checkBounds(x, y);
+		int pos = toStored(x, y);
+		int oldIndex = getIndex(pos);
+		if (!this.palette.isShared(oldIndex)) {
+			// unique entries are only used by this position, so the entry can be reused
+			this.palette.replaceUnique(oldIndex, block);
+		} else {
+			setIndex(pos, this.palette.addUnique(block));
+		}
+	}
+	
+	/**
+	 * Sets the block at [x][y] to a plain block of the given id and data, which is shared with all other positions of the same
+	 * id and data. Use setBlock() for blocks that have their own state, like chests
+	 * @param id the block id
+	 * @param data the block data
+	 * @param x
+	 * @param y
+	 * @throws IndexOutOfBoundsException
+	 */
+	public void setBlockState(short id, byte data, int x, int y) {
+		checkBounds(x, y);
+		setIndex(toStored(x, y), this.palette.getSharedIndex(id, data));
+	}
+	
+	private void checkBounds(int x, int y) {
+		if (x >= this.width || x < 0 || y >= this.height || y < 0) {
 			throw new IndexOutOfBoundsException(x + " (x) or " + y + " (y) not in slice");
 		}
-		this.blocks[x][y] = block;
+	}
+	
+	/**
+	 * Gets the position in the indices of the block at [x][y]
+	 */
+	private int toStored(int x, int y) {
+		switch (this.orientation) {
+			case 1:		return this.offset + (this.width - 1 - x) * this.stride + y;
+			case 2:		return this.offset + (this.height - 1 - y) * this.stride + (this.width - 1 - x);
+			case 3:		return this.offset + x * this.stride + (this.height - 1 - y);
+			default:	return this.offset + y * this.stride + x;
+		}
+	}
+	
+	private int getIndex(int pos) {
+		if (this.wideIndices != null) return this.wideIndices[pos];
+		return this.indices[pos] & 0xFFFF;
+	}
+	
+	private void setIndex(int pos, int index) {
+		if (this.wideIndices == null && index > 0xFFFF) {
+			// palette got too big for shorts
+			this.wideIndices = new int[this.indices.length];
+			for (int i = 0; i < this.indices.length; ++i) {
+				this.wideIndices[i] = this.indices[i] & 0xFFFF;
+			}
+			this.indices = null;
+		}
+		if (this.wideIndices != null) {
+			this.wideIndices[pos] = index;
+		} else {
+			this.indices[pos] = (short)index;
+		}
 	}
 	
 	/**
@@ -65,7 +185,7 @@ public class Slice {
 	 * @return the width
 	 */
 	public int getWidth() {
-		return this.blocks.length;
+		return this.width;
 	}
 
 	/**
@@ -73,7 +193,7 @@ public class Slice {
 	 * @return the height
 	 */
 	public int getHeight() {
-		return this.blocks[0].length;
+		return this.height;
 	}
 	
 	/**
@@ -91,30 +211,84 @@ public class Slice {
 	}
 	
 	/**
-	 * Rotates the whole slice
+	 * Rotates the whole slice. The blocks are not moved, see applyRotation()
 	 * @param CW True if rotating should be clockwise
 	 */
 	public void turn(boolean CW) {
-		Block[][] oldSlice = this.blocks;
-		int oldWidth = oldSlice.length;
-		int oldHeight = oldSlice[0].length;
+		// every state is only once in the palette, so this turns all the blocks
+		this.palette.turn(CW);
 		
-		this.blocks = new Block[oldHeight][];
+		this.orientation = (this.orientation + (CW ? 1 : 3)) % 4;
+		int oldWidth = this.width;
+		this.width = this.height;
+		this.height = oldWidth;
+	}
+	
+	/**
+	 * Lays the blocks out in the order of the current rotation, so they are stored row by row again. turn() only changes how the
+	 * positions are mapped, which makes reading a turned slice row by row jump around in memory. Call this before doing that
+	 * a lot, like the writer does. Blocks that are cut off are dropped too, see compact()
+	 */
+	public void applyRotation() {
+		if (this.orientation == 0) return;
+		
+		short[] laidOut = (this.indices == null) ? null : new short[this.width * this.height];
+		int[] wideLaidOut = (this.wideIndices == null) ? null : new int[this.width * this.height];
+		// copy tile by tile, so the stored columns that are read for a row stay in the cache until the next rows need them
+		for (int tileY = 0; tileY < this.height; tileY += TILE_SIZE) {
+			int endY = Math.min(tileY + TILE_SIZE, this.height);
+			for (int tileX = 0; tileX < this.width; tileX += TILE_SIZE) {
+				int endX = Math.min(tileX + TILE_SIZE, this.width);
+				for (int y = tileY; y < endY; ++y) {
+					for (int x = tileX; x < endX; ++x) {
+						if (laidOut != null) {
+							laidOut[y * this.width + x] = this.indices[toStored(x, y)];
+						} else {
+							wideLaidOut[y * this.width + x] = this.wideIndices[toStored(x, y)];
+						}
+					}
+				}
+			}
+		}
+		this.indices = laidOut;
+		this.wideIndices = wideLaidOut;
+		this.orientation = 0;
+		this.offset = 0;
+		this.stride = this.width;
+	}
+	
+	/**
+	 * Copies the blocks of the slice into arrays of their own, in the order of the current rotation, so the blocks that were cut
+	 * off are freed
+	 */
+	public void compact() {
+		if (this.orientation != 0) {
+			applyRotation();
+			return;
+		}
+		int length = (this.indices != null) ? this.indices.length : this.wideIndices.length;
+		if (length == this.width * this.height) return; // nothing cut off
 		
-		for (int oldY = 0; oldY < oldHeight; ++oldY) {
-			int newX = CW ? ((oldHeight - 1) - oldY) : oldY;
-			this.blocks[newX] = new Block[oldWidth];
-			for (int oldX = 0; oldX < oldWidth; ++oldX) {
-				int newY = CW ? oldX : ((oldWidth - 1) - oldX);
-				Block block = oldSlice[oldX][oldY];
-				block.turn(CW);
-				this.blocks[newX][newY] = block;
+		// copy row by row
+		if (this.wideIndices != null) {
+			int[] oldWideIndices = this.wideIndices;
+			this.wideIndices = new int[this.width * this.height];
+			for (int y = 0; y < this.height; ++y) {
+				System.arraycopy(oldWideIndices, this.offset + y * this.stride, this.wideIndices, y * this.width, this.width);
+			}
+		} else {
+			short[] oldIndices = this.indices;
+			this.indices = new short[this.width * this.height];
+			for (int y = 0; y < this.height; ++y) {
+				System.arraycopy(oldIndices, this.offset + y * this.stride, this.indices, y * this.width, this.width);
 			}
 		}
+		this.offset = 0;
+		this.stride = this.width;
 	}
 	
 	/**
-	 * Cuts off a part of the slice
+	 * Cuts off a part of the slice. Nothing is copied, the blocks that are cut off stay in memory until compact() is called
 	 * @param left How many blocks to cut of on the left
 	 * @param top How many blocks to cut of on the top
 	 * @param right How many blocks to cut of on the right
@@ -122,13 +296,13 @@ public class Slice {
 	 * @throws InvalidParameterException
 	 */
 	public void cutOff(int left, int top, int right, int bottom) {
-		if (this.blocks.length == 0 || this.blocks[0].length == 0) return;
+		if (this.width == 0 || this.height == 0) return;
 		
 		// check for left etc alone in case of integer overflow
 		if (left < 0 || top < 0 || right < 0 || bottom < 0 ||
-				left >= this.blocks.length || right >= this.blocks.length ||
-				top >= this.blocks[0].length || bottom >= this.blocks[0].length ||
-				(left + right) >= this.blocks.length || (top + bottom) >= this.blocks[0].length) {
+				left >= this.width || right >= this.width ||
+				top >= this.height || bottom >= this.height ||
+				(left + right) >= this.width || (top + bottom) >= this.height) {
 			StringBuffer errMsg = new StringBuffer();
 			errMsg.append("Numbers either below zero or too large for the slice: ");
 			errMsg.append("left: ").append(left).append(", ");
@@ -139,18 +313,14 @@ public class Slice {
 			throw new InvalidParameterException(errMsg.toString());
 		}
 		
-		int newWidth = this.blocks.length - left - right;
-		int newHeight = this.blocks[0].length - top - bottom;
-
-		Block[][] oldSlice = this.blocks;
-		this.blocks = new Block[newWidth][];
-		
-		for (int xOld = left, xNew = 0; xOld < (oldSlice.length - right); ++xOld, ++xNew) {
-			this.blocks[xNew] = new Block[newHeight];
-			for (int yOld = top, yNew = 0; yOld < (oldSlice[xOld].length - bottom); ++yOld, ++yNew) {
-				this.blocks[xNew][yNew] = oldSlice[xOld][yOld];
-			}
-		}
+		// left, top, right, bottom of the stored blocks. Every clockwise turn moved the left side to the top, the top to the right
+		// and so on
+		int[] cut = {left, top, right, bottom};
+		int storedLeft = cut[this.orientation % 4];
+		int storedTop = cut[(1 + this.orientation) % 4];
+		this.offset += storedTop * this.stride + storedLeft;
+		this.width -= left + right;
+		this.height -= top + bottom;
 	}
 	
 	/**
@@ -162,7 +332,7 @@ public class Slice {
 		for (int x = 0; x < this.getWidth(); ++x) {
 			boolean emptyColumn = true;
 			for (int y = 0; y < this.getHeight(); ++y) {
-				if (this.getBlockAt(x, y).getId() != 0) {
+				if (this.getIdAt(x, y) != 0) {
 					emptyColumn = false;
 					break;
 				}
@@ -185,7 +355,7 @@ public class Slice {
 		for (int y = 0; y < this.getHeight(); ++y) {
 			boolean emptyColumn = true;
 			for (int x = 0; x < this.getWidth(); ++x) {
-				if (this.getBlockAt(x, y).getId() != 0) {
+				if (this.getIdAt(x, y) != 0) {
 					emptyColumn = false;
 					break;
 				}
@@ -208,7 +378,7 @@ public class Slice {
 		for (int x = this.getWidth() - 1; x >=0; --x) {
 			boolean emptyColumn = true;
 			for (int y = 0; y < this.getHeight(); ++y) {
-				if (this.getBlockAt(x, y).getId() != 0) {
+				if (this.getIdAt(x, y) != 0) {
 					emptyColumn = false;
 					break;
 				}
@@ -231,7 +401,7 @@ public class Slice {
 		for (int y = this.getHeight() - 1; y >= 0; --y) {
 			boolean emptyColumn = true;
 			for (int x = 0; x < this.getWidth(); ++x) {
-				if (this.getBlockAt(x, y).getId() != 0) {
+				if (this.getIdAt(x, y) != 0) {
 					emptyColumn = false;
 					break;
 				}
@@ -245,6 +415,75 @@ public class Slice {
 		return airspace;
 	}
 	
+	/**
+	 * Gets the smallest rectangle that contains all blocks but air. Unlike the getAirspace methods, this looks at every block only
+	 * once and without getting the block itself
+	 * @return {left, top, right, bottom} of the rectangle (inclusive) or null if the slice is all air
+	 */
+	public int[] getBounds() {
+		boolean[] isAir = new boolean[this.palette.size()];
+		for (int i = 0; i < isAir.length; ++i) {
+			isAir[i] = (this.palette.getId(i) == 0);
+		}
+		
+		// scan the stored blocks in the order they are in memory
+		int storedWidth = (this.orientation % 2 == 0) ? this.width : this.height;
+		int storedHeight = (this.orientation % 2 == 0) ? this.height : this.width;
+		int minX = Integer.MAX_VALUE, minY = -1, maxX = -1, maxY = -1;
+		for (int y = 0; y < storedHeight; ++y) {
+			int rowStart = this.offset + y * this.stride;
+			int rowMin = -1, rowMax = -1;
+			for (int x = 0; x < storedWidth; ++x) {
+				if (!isAir[getIndex(rowStart + x)]) {
+					if (rowMin < 0) rowMin = x;
+					rowMax = x;
+				}
+			}
+			if (rowMin < 0) continue;
+			if (minY < 0) minY = y;
+			maxY = y;
+			minX = Math.min(minX, rowMin);
+			maxX = Math.max(maxX, rowMax);
+		}
+		if (minY < 0) return null;
+		
+		// left, top, right, bottom of the stored blocks, then in the current orientation
+		int[] storedCut = {minX, minY, storedWidth - 1 - maxX, storedHeight - 1 - maxY};
+		int[] cut = new int[4];
+		for (int i = 0; i < 4; ++i) {
+			cut[i] = storedCut[(i + 4 - this.orientation) % 4];
+		}
+		return new int[] {cut[0], cut[1], this.width - 1 - cut[2], this.height - 1 - cut[3]};
+	}
+	
+	/**
+	 * Adds the blocks of this slice but air to a count. Every position is only looked at for its palette index, the blocks are
+	 * looked at once per palette entry
+	 * @param counts the count to add to
+	 * @param asMaterials true to count the items needed to build the blocks, see BlockCount.addAsMaterial()
+	 */
+	void countBlocks(BlockCount counts, boolean asMaterials) {
+		int[] perIndex = new int[this.palette.size()];
+		int storedWidth = (this.orientation % 2 == 0) ? this.width : this.height;
+		int storedHeight = (this.orientation % 2 == 0) ? this.height : this.width;
+		for (int y = 0; y < storedHeight; ++y) {
+			int rowStart = this.offset + y * this.stride;
+			for (int x = 0; x < storedWidth; ++x) {
+				++perIndex[getIndex(rowStart + x)];
+			}
+		}
+		
+		for (int i = 0; i < perIndex.length; ++i) {
+			if (perIndex[i] == 0 || this.palette.getId(i) == 0) continue;
+			Block b = this.palette.get(i);
+			if (asMaterials) {
+				counts.addAsMaterial(b, perIndex[i]);
+			} else {
+				counts.add(b.getId(), b.getData(), perIndex[i]);
+			}
+		}
+	}
+	
 	/**
 	 * Checks if this slice is empty
 	 * @return true if all blocks of the slice are air blocks
@@ -252,7 +491,7 @@ public class Slice {
 	public boolean isEmpty() {
 		for (int x = 0; x < this.getWidth(); ++x) {
 			for (int y = 0; y < this.getHeight(); ++y) {
-				if (this.getBlockAt(x, y).getId() != 0) {
+				if (this.getIdAt(x, y) != 0) {
 					return false;
 				}
 			}
@@ -285,61 +524,7 @@ public class Slice {
 		if (!ImageProvider.isActivated()) return null;
 		
 		if (calculateWires) {
-			for (int i = 0; i < this.blocks.length; ++i) {
-				for (int j = 0; j < this.blocks[i].length; ++j) {
-					if (this.blocks[i][j].isRedstoneWire()) {
-						boolean wireInNorth = false;
-						boolean wireInEast = false;
-						boolean wireInSouth = false;
-						boolean wireInWest = false;
-						
-						if (j != 0) {
-							Block b = this.blocks[i][j-1];
-							wireInNorth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-						}
-						if (this.blocks.length - 1 != i) {
-							Block b = this.blocks[i+1][j];
-							wireInEast = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-						}
-						if (this.blocks[i].length - 1 != j) {
-							Block b = this.blocks[i][j+1];
-							wireInSouth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-						}
-						if (i != 0) {
-							Block b = this.blocks[i-1][j];
-							wireInWest = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-						}
-						((RedstoneWire)this.blocks[i][j]).setWireType(wireInNorth, wireInEast, wireInSouth, wireInWest);
-					} else if(this.blocks[i][j].isTripwire()) {
-						boolean wireInNorth = false;
-						boolean wireInEast = false;
-						boolean wireInSouth = false;
-						boolean wireInWest = false;
-						
-						if (j != 0) {
-							Block b = this.blocks[i][j-1];
-							wireInNorth = (b.isTripwire() || b.isTripwireHook());
-						}
-						if (this.blocks.length - 1 != i) {
-							Block b = this.blocks[i+1][j];
-							wireInEast = (b.isTripwire() || b.isTripwireHook());
-						}
-						if (this.blocks[i].length - 1 != j) {
-							Block b = this.blocks[i][j+1];
-							wireInSouth = (b.isTripwire() || b.isTripwireHook());
-						}
-						if (i != 0) {
-							Block b = this.blocks[i-1][j];
-							wireInWest = (b.isTripwire() || b.isTripwireHook());
-						}
-						((TripWire)this.blocks[i][j]).setWireType(wireInNorth, wireInEast, wireInSouth, wireInWest);
-					}
-				}
-			}
+			WireConnector.connect(this, null, null);
 		}
 		
 		return new ImageGrid(this, zoom);
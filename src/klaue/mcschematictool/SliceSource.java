@@ -0,0 +1,30 @@
+package klaue.mcschematictool;
+
+/**
+ * Reads the slices of a lazy SliceStack when they are needed, for example straight from the block data of a schematic file.<br>
+ * All coordinates are in the orientation of the source, the stack takes care of rotations. Implementations have to be thread safe
+ * @author klaue
+ */
+interface SliceSource {
+	/**
+	 * Reads a part of a layer into a new slice
+	 * @param layer the layer, 0 is the lowest one
+	 * @param left the first column
+	 * @param top the first row
+	 * @param length the number of columns (width of the slice)
+	 * @param width the number of rows (height of the slice)
+	 * @return the slice
+	 */
+	Slice readSlice(int layer, int left, int top, int length, int width);
+
+	/**
+	 * Gets the smallest rectangle of a part of a layer that contains all blocks but air, without reading the slice
+	 * @param layer the layer, 0 is the lowest one
+	 * @param left the first column
+	 * @param top the first row
+	 * @param length the number of columns (width of the slice)
+	 * @param width the number of rows (height of the slice)
+	 * @return {left, top, right, bottom} of the rectangle (inclusive, in the coordinates of the layer) or null if the part is all air
+	 */
+	int[] getBounds(int layer, int left, int top, int length, int width);
+}
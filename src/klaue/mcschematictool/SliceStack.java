@@ -4,21 +4,41 @@ import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import klaue.mcschematictool.blocktypes.Block;
-import klaue.mcschematictool.blocktypes.RedstoneWire;
-import klaue.mcschematictool.blocktypes.StoneSlab;
-import klaue.mcschematictool.blocktypes.TripWire;
-import klaue.mcschematictool.blocktypes.WoodenSlab;
 
 /**
- * A SliceStack represents a Stack of slices, therefore the 3D Schematics
+ * A SliceStack represents a Stack of slices, therefore the 3D Schematics<br>
+ * A lazy stack (see SchematicReader.readSchematicsFileLazily()) builds a slice from its source only when it is first needed and
+ * keeps only the last used ones in memory, the others are read again when they are needed. Because of that, changes to the blocks
+ * of a lazy stack can get lost - call materialize() first if you want to change blocks
  * @author klaue
  *
  */
 public class SliceStack implements Iterable<Slice> {
-	private ArrayList<Slice> stack;
+	private ArrayList<Slice> stack; // in a lazy stack, slices that are not in memory are null
+	
+	// lazy stacks only
+	private volatile SliceSource source = null; // null if all slices are in the stack
+	private LinkedHashMap<Slice, Boolean> resident = null; // the slices in memory, least recently used first
+	private int maxResident;
+	private int sourceLayer = 0; // the layer of the source that is slice 0
+	private int sourceLeft = 0; // the part of the source layers that is used, in the orientation of the source
+	private int sourceTop = 0;
+	private int sourceLength = 0;
+	private int sourceWidth = 0;
+	private int turns = 0; // clockwise quarter turns since reading
+	private HashSet<Slice> changedSlices = new HashSet<Slice>(); // can't be read again, so they are kept in memory
+	
+	private TreeMap<Integer, int[]> changes = new TreeMap<Integer, int[]>(); // changed {left, top, right, bottom} per level
 	
 	/**
 	 * Returns a new, empty SliceStack
@@ -40,6 +60,61 @@ public class SliceStack implements Iterable<Slice> {
 		}
 	}
 	
+	/**
+	 * Returns a new lazy SliceStack that reads its slices from the given source when they are needed
+	 * @param source the source of the slices
+	 * @param height
+	 * @param length (width of the slice)
+	 * @param width (depth - height of the slize)
+	 * @param maxResidentSlices the number of slices that are kept in memory
+	 */
+	SliceStack(SliceSource source, int height, int length, int width, int maxResidentSlices) {
+		if (maxResidentSlices < 1) throw new IllegalArgumentException("At least one slice has to be kept in memory");
+		this.stack = new ArrayList<Slice>(height);
+		for (int i = 0; i < height; ++i) {
+			this.stack.add(null);
+		}
+		this.source = source;
+		this.sourceLength = length;
+		this.sourceWidth = width;
+		this.maxResident = maxResidentSlices;
+		this.resident = new LinkedHashMap<Slice, Boolean>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Slice, Boolean> eldest) {
+				if (size() <= SliceStack.this.maxResident) return false;
+				// the next time it's needed, the slice is read again
+				int idx = SliceStack.this.stack.indexOf(eldest.getKey());
+				if (idx >= 0) SliceStack.this.stack.set(idx, null);
+				return true;
+			}
+		};
+	}
+	
+	/**
+	 * Checks if this stack reads its slices when they are needed
+	 * @return true if this is a lazy stack
+	 */
+	public boolean isLazy() {
+		return this.source != null;
+	}
+	
+	/**
+	 * Reads all slices of a lazy stack that are not in memory, so it becomes a normal stack that keeps all its slices. Does nothing
+	 * for a normal stack
+	 */
+	public synchronized void materialize() {
+		if (this.source == null) return;
+		this.maxResident = Integer.MAX_VALUE;
+		for (int i = 0; i < this.stack.size(); ++i) {
+			getSlice(i);
+		}
+		this.resident = null;
+		this.changedSlices.clear();
+		this.source = null;
+	}
+	
 	/**
 	 * Adds a slice to the top of the stack
 	 * @param slice the new slice
@@ -49,6 +124,7 @@ public class SliceStack implements Iterable<Slice> {
 		if (slice == null) {
 			throw new IllegalArgumentException("A null slice is not allowed");
 		}
+		materialize();
 		if (!this.stack.isEmpty()) {
 			if (this.stack.get(0).getWidth() != slice.getWidth() ||
 					this.stack.get(0).getHeight() != slice.getHeight()) {
@@ -65,7 +141,26 @@ public class SliceStack implements Iterable<Slice> {
 	 * @return the slice
 	 */
 	public Slice getSlice(int index) {
-		return this.stack.get(index);
+		if (this.source == null) return this.stack.get(index);
+		return getLazySlice(index);
+	}
+	
+	private synchronized Slice getLazySlice(int index) {
+		if (this.source == null) return this.stack.get(index); // materialized in the meantime
+		Slice slice = this.stack.get(index);
+		if (slice == null) {
+			slice = this.source.readSlice(this.sourceLayer + index, this.sourceLeft, this.sourceTop, this.sourceLength, this.sourceWidth);
+			if (this.turns == 3) {
+				slice.turn(false);
+			} else {
+				for (int i = 0; i < this.turns; ++i) {
+					slice.turn(true);
+				}
+			}
+			this.stack.set(index, slice);
+		}
+		if (!this.changedSlices.contains(slice)) this.resident.put(slice, Boolean.TRUE); // now the most recently used one
+		return slice;
 	}
 	
 	/**
@@ -73,36 +168,74 @@ public class SliceStack implements Iterable<Slice> {
 	 * removing any non-air-blocks
 	 */
 	public void trim() {
-		if (this.stack.size() == 0) return;
+		trim(null);
+	}
+	
+	/**
+	 * Removes "Whitespace", eg air blocks, from all sides of the stack, see trim(). The listener is told how many layers have been
+	 * looked at
+	 * @param listener the listener or null
+	 * @return true if the stack was trimmed, false if the listener cancelled and the stack is unchanged
+	 */
+	public synchronized boolean trim(final ProgressListener listener) {
+		if (this.stack.size() == 0) return true;
 		
-		// remove empty stacks at the top
-		while (this.stack.size() > 0 && this.stack.get(0).isEmpty()) {
-			this.stack.remove(0);
-		}
+		// one pass over every layer to get the rectangle of all blocks but air, the layers in parallel. A lazy stack looks at the
+		// block ids of its source, so no slice has to be read
+		final SliceSource lazySource = this.source;
+		final int layers = this.stack.size();
+		final AtomicInteger done = new AtomicInteger();
+		final AtomicBoolean cancelled = new AtomicBoolean();
+		int[][] layerBounds = IntStream.range(0, layers).parallel()
+				.mapToObj(i -> {
+					if (cancelled.get()) return null;
+					int[] bounds = (lazySource == null) ? this.stack.get(i).getBounds() : getSourceBounds(lazySource, i);
+					if (listener != null && !listener.progress(done.incrementAndGet(), layers)) cancelled.set(true);
+					return bounds;
+				})
+				.toArray(int[][]::new);
+		if (cancelled.get()) return false;
 		
-		// remove empty stacks at the bottom
-		while (this.stack.size() > 0 && this.stack.get(this.stack.size() - 1).isEmpty()) {
-			this.stack.remove(this.stack.size() - 1);
+		int bottomLayer = -1, topLayer = -1;
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+		for (int i = 0; i < layerBounds.length; ++i) {
+			int[] bounds = layerBounds[i];
+			if (bounds == null) continue; // only air
+			if (bottomLayer < 0) bottomLayer = i;
+			topLayer = i;
+			minX = Math.min(minX, bounds[0]);
+			minY = Math.min(minY, bounds[1]);
+			maxX = Math.max(maxX, bounds[2]);
+			maxY = Math.max(maxY, bounds[3]);
 		}
-		
-		// get the amount to cut off from all sites
-		int left = Integer.MAX_VALUE, top = Integer.MAX_VALUE, right = Integer.MAX_VALUE, bottom = Integer.MAX_VALUE;
-		for (Slice s : this.stack) {
-			int currentLeft = s.getAirspaceLeft();
-			int currentTop = s.getAirspaceTop();
-			int currentRight = s.getAirspaceRight();
-			int currentBottom = s.getAirspaceBottom();
-			
-			if (currentLeft < left) left = currentLeft;
-			if (currentTop < top) top = currentTop;
-			if (currentRight < right) right = currentRight;
-			if (currentBottom < bottom) bottom = currentBottom;
+		if (bottomLayer < 0) {
+			// nothing but air
+			this.stack.clear();
+			if (this.resident != null) this.resident.clear();
+			return true;
 		}
 		
-		// cut off the appropriate amount
-		for (Slice s : this.stack) {
-			s.cutOff(left, top, right, bottom);
+		cutOff(this.stack.size() - 1 - topLayer, bottomLayer, minY, this.getLength() - 1 - maxX, this.getWidth() - 1 - maxY, minX);
+		return true;
+	}
+	
+	/**
+	 * Gets the rectangle of all blocks but air of a slice of a lazy stack from the source, in the current orientation
+	 * @param source the source
+	 * @param index the index of the slice
+	 * @return {left, top, right, bottom}, inclusive, or null if the slice is all air
+	 */
+	private int[] getSourceBounds(SliceSource source, int index) {
+		int[] bounds = source.getBounds(this.sourceLayer + index, this.sourceLeft, this.sourceTop, this.sourceLength, this.sourceWidth);
+		if (bounds == null) return null;
+		
+		// west, north, east, south in the orientation of the source, then in the current one
+		int[] sourceCut = {bounds[0], bounds[1], this.sourceLength - 1 - bounds[2], this.sourceWidth - 1 - bounds[3]};
+		int[] cut = new int[4];
+		for (int i = 0; i < 4; ++i) {
+			cut[i] = sourceCut[(i + 4 - this.turns) % 4];
 		}
+		return new int[] {cut[0], cut[1], this.getLength() - 1 - cut[2], this.getWidth() - 1 - cut[3]};
 	}
 	
 	/**
@@ -119,6 +252,7 @@ public class SliceStack implements Iterable<Slice> {
 	 */
 	public int getLength() {
 		if (this.stack.isEmpty()) return 0;
+		if (this.source != null) return (this.turns % 2 == 0) ? this.sourceLength : this.sourceWidth;
 		return this.stack.get(0).getWidth();
 	}
 	
@@ -128,19 +262,33 @@ public class SliceStack implements Iterable<Slice> {
 	 */
 	public int getWidth() {
 		if (this.stack.isEmpty()) return 0;
+		if (this.source != null) return (this.turns % 2 == 0) ? this.sourceWidth : this.sourceLength;
 		return this.stack.get(0).getHeight();
 	}
 	
 	@Override
 	public Iterator<Slice> iterator() {
-		return this.stack.iterator();
+		if (this.source == null) return this.stack.iterator();
+		return new Iterator<Slice>() {
+			private int next = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return this.next < getHeight();
+			}
+			
+			@Override
+			public Slice next() {
+				return getSlice(this.next++);
+			}
+		};
 	}
 	
 	@Override
 	public String toString() {
 		StringBuffer sb = new StringBuffer();
 		for (int i = this.stack.size() - 1; i >= 0; --i) {
-			sb.append(this.stack.get(i).toString());
+			sb.append(this.getSlice(i).toString());
 			sb.append("\n-------------\n");
 		}
 		return sb.toString();
@@ -165,13 +313,30 @@ public class SliceStack implements Iterable<Slice> {
 	 * @param CW True if rotating should be clockwise
 	 */
 	public void turn(boolean CW) {
+		forgetChanges();
+		if (this.source != null) {
+			turnLazily(CW);
+			return;
+		}
 		for (Slice s : this.stack) {
 			s.turn(CW);
 		}
 	}
 	
 	/**
-	 * Cuts off a part of the slicestack
+	 * Turns the slices of a lazy stack that are in memory, the others are turned when they are read
+	 * @param CW True if rotating should be clockwise
+	 */
+	private synchronized void turnLazily(boolean CW) {
+		this.turns = (this.turns + (CW ? 1 : 3)) % 4;
+		for (Slice s : this.stack) {
+			if (s != null) s.turn(CW);
+		}
+	}
+	
+	/**
+	 * Cuts off a part of the slicestack. The blocks are not copied, the slices only show the part that is left. Call compact() to
+	 * free the blocks that were cut off
 	 * @param top How many blocks to cut of on the top
 	 * @param bottom How many blocks to cut of on the bottom
 	 * @param north How many blocks to cut of in the north
@@ -181,15 +346,15 @@ public class SliceStack implements Iterable<Slice> {
 	 * @throws InvalidParameterException
 	 */
 	public void cutOff(int top, int bottom, int north, int east, int south, int west) {
-		if (this.stack.size() == 0 || this.getSlice(0).getWidth() == 0 || this.getSlice(0).getHeight() == 0) return;
+		if (this.stack.size() == 0 || this.getLength() == 0 || this.getWidth() == 0) return;
 		
 		// check for top etc alone in case of integer overflow
 		if (top < 0 || bottom < 0 || north < 0 || east < 0 || south < 0 || west < 0 ||
-				top >= this.stack.size()						|| bottom >= this.stack.size() ||
-				west >= this.getSlice(0).getWidth()				|| east >= this.getSlice(0).getWidth() ||
-				north >= this.getSlice(0).getHeight()			|| south >= this.getSlice(0).getHeight() ||
-				(top + bottom) >= this.stack.size()				||
-				(west + east) >= this.getSlice(0).getWidth() 	|| (north + south) >= this.getSlice(0).getHeight()) {
+				top >= this.stack.size()				|| bottom >= this.stack.size() ||
+				west >= this.getLength()				|| east >= this.getLength() ||
+				north >= this.getWidth()				|| south >= this.getWidth() ||
+				(top + bottom) >= this.stack.size()		||
+				(west + east) >= this.getLength() 		|| (north + south) >= this.getWidth()) {
 			StringBuffer errMsg = new StringBuffer();
 			errMsg.append("Numbers either below zero or too large for the slicestack: ");
 			errMsg.append("top: ").append(top).append(", ");
@@ -202,15 +367,66 @@ public class SliceStack implements Iterable<Slice> {
 			throw new InvalidParameterException(errMsg.toString());
 		}
 		
-		ArrayList<Slice> newStack = new ArrayList<Slice>();
+		forgetChanges();
+		if (this.source != null) {
+			cutOffLazily(top, bottom, north, east, south, west);
+			return;
+		}
+		
 		// cut off stuff:
-		for (int i = bottom; i < (this.stack.size() - top); ++i) {
-			Slice s = this.stack.get(i);
+		this.stack.subList(this.stack.size() - top, this.stack.size()).clear();
+		this.stack.subList(0, bottom).clear();
+		for (Slice s : this.stack) {
 			s.cutOff(west, north, east, south);
-			newStack.add(this.stack.get(i));
 		}
-		this.stack = newStack;
-		System.gc();
+	}
+	
+	/**
+	 * Cuts off a part of a lazy stack. The slices in memory are cut, the others are only read in the new size later
+	 */
+	private synchronized void cutOffLazily(int top, int bottom, int north, int east, int south, int west) {
+		// west, north, east, south in the current orientation, then in the one of the source. Every clockwise turn moved the
+		// west side to the north, the north side to the east and so on
+		int[] cut = {west, north, east, south};
+		int[] sourceCut = new int[4];
+		for (int i = 0; i < 4; ++i) {
+			sourceCut[i] = cut[(i + this.turns) % 4];
+		}
+		this.sourceLayer += bottom;
+		this.sourceLeft += sourceCut[0];
+		this.sourceTop += sourceCut[1];
+		this.sourceLength -= sourceCut[0] + sourceCut[2];
+		this.sourceWidth -= sourceCut[1] + sourceCut[3];
+		
+		this.stack.subList(this.stack.size() - top, this.stack.size()).clear();
+		this.stack.subList(0, bottom).clear();
+		this.resident.keySet().retainAll(this.stack);
+		this.changedSlices.retainAll(this.stack);
+		for (Slice s : this.stack) {
+			if (s != null) s.cutOff(west, north, east, south);
+		}
+	}
+	
+	/**
+	 * Copies the blocks of the slices in memory into arrays of their own, so the blocks that were cut off by cutOff() or trim()
+	 * are freed. Slices that a lazy stack reads later are compact anyway
+	 */
+	public synchronized void compact() {
+		for (Slice s : this.stack) {
+			if (s != null) s.compact();
+		}
+	}
+	
+	/**
+	 * Counts the blocks of the stack but air. The layers are counted in parallel, every thread into a count of its own, which are
+	 * merged in the end
+	 * @param asMaterials true to count the items needed to build the blocks (one bed for both halves, redstone for wires and so on),
+	 * see BlockCount.addAsMaterial()
+	 * @return the count
+	 */
+	public BlockCount countBlocks(boolean asMaterials) {
+		return IntStream.range(0, this.stack.size()).parallel().collect(BlockCount::new,
+				(counts, z) -> getSlice(z).countBlocks(counts, asMaterials), BlockCount::merge);
 	}
 	
 	/**
@@ -219,150 +435,168 @@ public class SliceStack implements Iterable<Slice> {
 	 * for every change
 	 * @param zoom the current zoom value (min 1, since a 16x16 image/block is small enough)
 	 * @param calculateRedstoneWires true to calculate the directions of redstone wires (costly)
-	 * @return an ImageGridStack or null if ImageProvider was not initialized
+	 * @return an ImageGridStack or null if ImageProvider was not initialized. For a lazy stack, the ImageGridStack is lazy too and
+	 * keeps as many grids in memory as the stack keeps slices
 	 */
 	public ImageGridStack getImages(double zoom, boolean calculateRedstoneWires) {
 		if (!ImageProvider.isActivated()) return null;
+		forgetChanges(); // all grids are new
+		if (this.source != null) {
+			// slices that are not in memory are read again without wires, so the wires are calculated for each grid when it is made
+			return new ImageGridStack(this, zoom, calculateRedstoneWires, this.maxResident);
+		}
+		if (calculateRedstoneWires) {
+			WireConnector.connect(this); // all slices at once
+		}
 		ImageGrid[] imgGrid = new ImageGrid[this.stack.size()];
 		for (int idx = 0; idx < this.stack.size(); ++idx) {
+			imgGrid[idx] = getImages(idx, zoom, false);
+		}
+		return new ImageGridStack(imgGrid);
+	}
+	
+	/**
+	 * Returns an ImageGrid with the content of one slice of this stack. Unlike Slice.getImages(), redstone wires are connected to the
+	 * slices above and below. The wires of a slice only depend on the blocks (not the wires) around it, so the slices can be done in
+	 * any order, for example the visible one first
+	 * @param idx the index of the slice, 0 is the lowest one
+	 * @param zoom the current zoom value (min 1, since a 16x16 image/block is small enough)
+	 * @param calculateRedstoneWires true to calculate the directions of redstone wires (costly)
+	 * @return an ImageGrid or null if ImageProvider was not initialized
+	 */
+	public ImageGrid getImages(int idx, double zoom, boolean calculateRedstoneWires) {
+		if (!ImageProvider.isActivated()) return null;
+		// the slice with the wires, a lazy stack may have dropped it again while reading the slices around it
+		Slice slice = calculateRedstoneWires ? calculateWires(idx) : getSlice(idx);
+		return slice.getImages(zoom, false); // false for redstone calc because that was allready done
+	}
+	
+	/**
+	 * Sets the block at the given position and remembers the change for updateImages()
+	 * @param block the block
+	 * @param x the column
+	 * @param y the row
+	 * @param z the level, 0 is the lowest one
+	 */
+	public synchronized void setBlock(Block block, int x, int y, int z) {
+		getSlice(z).setBlock(block, x, y);
+		markChanged(x, y, z);
+	}
+	
+	/**
+	 * Sets the block with the given id and data at the given position and remembers the change for updateImages()
+	 * @param id the block id
+	 * @param data the block data
+	 * @param x the column
+	 * @param y the row
+	 * @param z the level, 0 is the lowest one
+	 */
+	public synchronized void setBlockState(short id, byte data, int x, int y, int z) {
+		getSlice(z).setBlockState(id, data, x, y);
+		markChanged(x, y, z);
+	}
+	
+	/**
+	 * Remembers that the block at the given position was changed, so updateImages() updates the wires and grids around it. Call
+	 * this after changing a slice of the stack directly. Changed slices of a lazy stack are kept in memory from now on.<br>
+	 * Turning and cutting off forget the changes, since all grids have to be made again after that anyway
+	 * @param x the column
+	 * @param y the row
+	 * @param z the level, 0 is the lowest one
+	 */
+	public synchronized void markChanged(int x, int y, int z) {
+		if (this.source != null) {
+			Slice slice = getSlice(z);
+			this.resident.remove(slice);
+			this.changedSlices.add(slice);
+		}
+		addRegion(this.changes, z, x, y, x, y);
+	}
+	
+	/**
+	 * @return true if blocks were changed since the last updateImages() or getImages()
+	 */
+	public synchronized boolean hasChanges() {
+		return !this.changes.isEmpty();
+	}
+	
+	/**
+	 * Updates the grids after blocks were changed with setBlock(), setBlockState() or markChanged(). Instead of calculating all
+	 * wires again, only the ones next to a change are calculated (on the same level and the levels above and below) and only the
+	 * grids of these levels are updated. Grids that are not in memory are made with the current blocks anyway
+	 * @param grids the grids of this stack
+	 * @param calculateRedstoneWires true to calculate the directions of redstone wires
+	 */
+	public void updateImages(ImageGridStack grids, boolean calculateRedstoneWires) {
+		TreeMap<Integer, int[]> changed;
+		synchronized (this) {
+			changed = this.changes;
+			this.changes = new TreeMap<Integer, int[]>();
+		}
+		
+		TreeMap<Integer, int[]> affected = new TreeMap<Integer, int[]>();
+		for (Map.Entry<Integer, int[]> change : changed.entrySet()) {
+			int level = change.getKey();
+			int[] region = change.getValue();
 			if (!calculateRedstoneWires) {
-				imgGrid[idx] = this.stack.get(idx).getImages(zoom, false);
-			} else {
-				// Note: this is basically a copy of slice.getImages(). I know that this is ugly, but what can I do..
-				Slice slice = this.stack.get(idx);
-				for (int i = 0; i < slice.getWidth(); ++i) {
-					for (int j = 0; j < slice.getHeight(); ++j) {
-						if (slice.getBlockAt(i, j).isRedstoneWire()) {
-							boolean wireInNorth = false;
-							boolean wireInEast = false;
-							boolean wireInSouth = false;
-							boolean wireInWest = false;
-							
-							// same level
-							if (j != 0) {
-								Block b = slice.getBlockAt(i, j - 1);
-								wireInNorth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-										|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-							}
-							if (slice.getWidth() - 1 != i) {
-								Block b = slice.getBlockAt(i + 1, j);
-								wireInEast = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-										|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-							}
-							if (slice.getHeight() - 1 != j) {
-								Block b = slice.getBlockAt(i, j + 1);
-								wireInSouth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-										|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-							}
-							if (i != 0) {
-								Block b = slice.getBlockAt(i - 1, j);
-								wireInWest = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-										|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-							}
-							
-							// upper level (only if there is a upper level and the block above is air)
-							if ((idx != this.stack.size() - 1) && !blockBlocksWire(this.stack.get(idx + 1).getBlockAt(i, j))) {
-								Slice upperSlice = this.stack.get(idx + 1);
-								if (j != 0 && !wireInNorth) {
-									Block b = upperSlice.getBlockAt(i, j - 1);
-									wireInNorth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (slice.getWidth() - 1 != i && !wireInEast) {
-									Block b = upperSlice.getBlockAt(i + 1, j);
-									wireInEast = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (slice.getHeight() - 1 != j && !wireInSouth) {
-									Block b = upperSlice.getBlockAt(i, j + 1);
-									wireInSouth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (i != 0 && !wireInWest) {
-									Block b = upperSlice.getBlockAt(i - 1, j);
-									wireInWest = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-							}
-							
-							// lower level (only if there is a lower level and there's no block in the way on the side)
-							if ((idx != 0)) {
-								Slice lowerSlice = this.stack.get(idx - 1);
-								if (j != 0 && !wireInNorth && !blockBlocksWire(slice.getBlockAt(i, j - 1))) {
-									Block b = lowerSlice.getBlockAt(i, j - 1);
-									wireInNorth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (slice.getWidth() - 1 != i && !wireInEast && !blockBlocksWire(slice.getBlockAt(i + 1, j))) {
-									Block b = lowerSlice.getBlockAt(i + 1, j);
-									wireInEast = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (slice.getHeight() - 1 != j && !wireInSouth && !blockBlocksWire(slice.getBlockAt(i, j + 1))) {
-									Block b = lowerSlice.getBlockAt(i, j + 1);
-									wireInSouth = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-								if (i != 0 && !wireInWest && !blockBlocksWire(slice.getBlockAt(i - 1, j))) {
-									Block b = lowerSlice.getBlockAt(i - 1, j);
-									wireInWest = (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
-											|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate());
-								}
-							}
-							
-							
-							((RedstoneWire)slice.getBlockAt(i, j)).setWireType(wireInNorth, wireInEast, wireInSouth, wireInWest);
-						}  else if(slice.getBlockAt(i, j).isTripwire()) {
-							// tripwire is only two dimensional e.g. on slice level
-							boolean wireInNorth = false;
-							boolean wireInEast = false;
-							boolean wireInSouth = false;
-							boolean wireInWest = false;
-							
-							if (j != 0) {
-								Block b = slice.getBlockAt(i, j-1);
-								wireInNorth = (b.isTripwire() || b.isTripwireHook());
-							}
-							if (slice.getWidth() - 1 != i) {
-								Block b = slice.getBlockAt(i+1, j);
-								wireInEast = (b.isTripwire() || b.isTripwireHook());
-							}
-							if (slice.getHeight() - 1 != j) {
-								Block b = slice.getBlockAt(i, j+1);
-								wireInSouth = (b.isTripwire() || b.isTripwireHook());
-							}
-							if (i != 0) {
-								Block b = slice.getBlockAt(i-1, j);
-								wireInWest = (b.isTripwire() || b.isTripwireHook());
-							}
-							((TripWire)slice.getBlockAt(i, j)).setWireType(wireInNorth, wireInEast, wireInSouth, wireInWest);
-						}
-					}
-				}
-				imgGrid[idx] = this.stack.get(idx).getImages(zoom, false); // false for redstone calc because that was allready done
-				
+				addRegion(affected, level, region[0], region[1], region[2], region[3]);
+				continue;
+			}
+			// a changed block may connect to the wires next to it, above and below
+			for (int z = Math.max(0, level - 1); z <= Math.min(this.stack.size() - 1, level + 1); ++z) {
+				addRegion(affected, z, Math.max(0, region[0] - 1), Math.max(0, region[1] - 1),
+						Math.min(getLength() - 1, region[2] + 1), Math.min(getWidth() - 1, region[3] + 1));
+			}
+		}
+		
+		for (Map.Entry<Integer, int[]> level : affected.entrySet()) {
+			int z = level.getKey();
+			int[] region = level.getValue();
+			Slice slice = getSlice(z);
+			if (calculateRedstoneWires) {
+				Slice upperSlice = (z != this.stack.size() - 1) ? getSlice(z + 1) : null;
+				Slice lowerSlice = (z != 0) ? getSlice(z - 1) : null;
+				WireConnector.connect(slice, lowerSlice, upperSlice, region[0], region[1], region[2], region[3]);
+			}
+			ImageGrid grid = grids.getLoadedGridAtLevel(z);
+			if (grid != null) {
+				grid.setSlice(slice); // a lazy stack may have read the slice again since the grid was made
+				grid.repaint();
 			}
 		}
-		return new ImageGridStack(imgGrid);
 	}
 	
 	/**
-	 * Checks if this block would block wire paths
-	 * @param b the block
-	 * @return true if the block would.. block
+	 * Grows the rectangle of a level so it contains the given one
+	 * @param regions the rectangles {left, top, right, bottom} per level
 	 */
-	private boolean blockBlocksWire(Block b) {
-		if (b.isBed() || b.isTorch() || b.isStair() || b.isSign() || b.isLadder()
-				|| b.getId() == 0  // air
-				|| b.getId() == 20 // glass
-				|| b.getId() == 52 // monster spawner
-				|| b.getId() == 79 // ice
-				|| b.getId() == 85 // fence
-				|| (b.isStoneSlab() && !((StoneSlab)b).isDoubleSlab())
-				|| (b.isWoodenSlab() && !((WoodenSlab)b).isDoubleSlab())) {
-			return false;
+	private static void addRegion(TreeMap<Integer, int[]> regions, int level, int left, int top, int right, int bottom) {
+		int[] region = regions.get(level);
+		if (region == null) {
+			regions.put(level, new int[] {left, top, right, bottom});
+		} else {
+			region[0] = Math.min(region[0], left);
+			region[1] = Math.min(region[1], top);
+			region[2] = Math.max(region[2], right);
+			region[3] = Math.max(region[3], bottom);
 		}
-		return true;
+	}
+	
+	private synchronized void forgetChanges() {
+		this.changes.clear();
+	}
+	
+	/**
+	 * Calculates the directions of the redstone and trip wires of a slice
+	 * @param idx the index of the slice
+	 * @return the slice
+	 */
+	private Slice calculateWires(int idx) {
+		Slice upperSlice = (idx != this.stack.size() - 1) ? getSlice(idx + 1) : null;
+		Slice lowerSlice = (idx != 0) ? getSlice(idx - 1) : null;
+		Slice slice = getSlice(idx);
+		WireConnector.connect(slice, lowerSlice, upperSlice);
+		return slice;
 	}
 	
 	/**
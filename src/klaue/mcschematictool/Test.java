@@ -1,15 +1,34 @@
 package klaue.mcschematictool;
 
+import java.awt.Color;
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
 
 import javax.swing.JFrame;
 import javax.swing.JScrollPane;
 
+import klaue.mcschematictool.blocktypes.Block;
+import klaue.mcschematictool.blocktypes.RedstoneWire;
+import klaue.mcschematictool.blocktypes.Stair;
+import klaue.mcschematictool.blocktypes.TripWire;
 import klaue.mcschematictool.exceptions.ClassicNotSupportedException;
 import klaue.mcschematictool.exceptions.ParseException;
 
+import org.jnbt.Tag;
+
+import com.fmsware.AnimatedGifEncoder;
+import com.fmsware.GifPalette;
+
 /**
  * A simple test class for the SchematicsReader
  * @author klaue
@@ -78,6 +97,732 @@ public class Test {
 		}
 	}
 	
+	/**
+	 * Compares the memory needed by the old layout (one block object per position) with the one of the palette based slices
+	 * for a generated schematic of the given size. Start with a large enough heap (-Xmx) for the old layout
+	 * @param length the width of the slices
+	 * @param width the height of the slices
+	 * @param height the number of slices
+	 */
+	public static void benchmarkMemory(int length, int width, int height) {
+		// a mix of plain and directional blocks, roughly half of it air like in most real schematics
+		short[] ids = {0, 0, 0, 0, 1, 4, 5, 17, 20, 35, 53, 98};
+		
+		Random random = new Random(0);
+		long before = usedMemory();
+		Block[][][] oldLayout = new Block[height][][];
+		for (int z = 0; z < height; ++z) {
+			oldLayout[z] = new Block[length][];
+			for (int x = 0; x < length; ++x) {
+				oldLayout[z][x] = new Block[width];
+				for (int y = 0; y < width; ++y) {
+					short id = ids[random.nextInt(ids.length)];
+					oldLayout[z][x][y] = Block.getInstance(id, (byte)(id == 0 ? 0 : random.nextInt(4)));
+				}
+			}
+		}
+		long oldBytes = usedMemory() - before;
+		System.out.println("Block[][] layout: " + (oldBytes / (1024 * 1024)) + " MB (" + oldLayout.length + " slices)");
+		oldLayout = null;
+		
+		random = new Random(0);
+		before = usedMemory();
+		SliceStack stack = new SliceStack(height, length, width);
+		for (int z = 0; z < height; ++z) {
+			Slice s = stack.getSlice(z);
+			for (int x = 0; x < length; ++x) {
+				for (int y = 0; y < width; ++y) {
+					short id = ids[random.nextInt(ids.length)];
+					s.setBlockState(id, (byte)(id == 0 ? 0 : random.nextInt(4)), x, y);
+				}
+			}
+		}
+		long newBytes = usedMemory() - before;
+		System.out.println("Palette layout:   " + (newBytes / (1024 * 1024)) + " MB (" + stack.getHeight() + " slices)");
+	}
+	
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; ++i) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Times reading the same schematic from a compressed (gzip) and a raw (uncompressed) file
+	 * @param compressed the gzipped schematic
+	 * @param raw the same schematic, unzipped
+	 * @param runs how often to read each file. The first run of each is not counted (warm-up)
+	 */
+	public static void benchmarkLoading(File compressed, File raw, int runs) {
+		try {
+			for (File f : new File[] {compressed, raw}) {
+				SchematicReader.readSchematicsFile(f);
+				long start = System.nanoTime();
+				for (int i = 0; i < runs; ++i) {
+					SchematicReader.readSchematicsFile(f);
+				}
+				long avgMillis = (System.nanoTime() - start) / runs / 1000000;
+				System.out.println(f.getName() + " (" + (f.length() / 1024) + " KB): " + avgMillis + " ms per read");
+			}
+			
+			for (boolean parallel : new boolean[] {false, true}) {
+				SchematicReader.readSchematicsFile(raw, true, parallel);
+				long start = System.nanoTime();
+				for (int i = 0; i < runs; ++i) {
+					SchematicReader.readSchematicsFile(raw, true, parallel);
+				}
+				long avgMillis = (System.nanoTime() - start) / runs / 1000000;
+				System.out.println(raw.getName() + " (memory mapped" + (parallel ? ", parallel" : "") + "): " + avgMillis + " ms per read");
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Compares the lookup of tile entities in a TreeMap with boxed keys (the old way) with a TileEntityIndex cursor, both
+	 * called in ascending block order like the reader does
+	 * @param blocks the number of blocks in the simulated schematic
+	 * @param entityCount the number of tile entities
+	 * @param runs how often to look up all blocks
+	 */
+	public static void benchmarkTileEntityLookup(int blocks, int entityCount, int runs) {
+		Random random = new Random(42);
+		int[] indices = new int[entityCount];
+		List<Map<String, Tag>> entities = new ArrayList<Map<String, Tag>>(entityCount);
+		Map<Integer, Map<String, Tag>> treeMap = new TreeMap<Integer, Map<String, Tag>>();
+		for (int i = 0; i < entityCount; ++i) {
+			indices[i] = random.nextInt(blocks);
+			Map<String, Tag> entity = new HashMap<String, Tag>();
+			entities.add(entity);
+			treeMap.put(indices[i], entity);
+		}
+		TileEntityIndex index = new TileEntityIndex(indices, entities);
+		
+		// look up every 4th block, as if a quarter of the schematic was chests or signs
+		for (int run = 0; run <= runs; ++run) {
+			int found = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < blocks; i += 4) {
+				if (treeMap.get(i) != null) ++found;
+			}
+			long treeMapNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			TileEntityIndex.Cursor cursor = index.cursor(0);
+			for (int i = 0; i < blocks; i += 4) {
+				if (cursor.get(i) != null) ++found;
+			}
+			long cursorNanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println("TreeMap: " + (treeMapNanos / 1000000) + " ms, cursor: " + (cursorNanos / 1000000) + " ms (" + found / 2 + " found)");
+			}
+		}
+	}
+	
+	/**
+	 * Compares the time needed to write all layers of a schematic to an animated gif and the file size with a quantized palette per
+	 * layer, with one palette for all layers, with one palette and delta frames and with the pipelined GifExporter
+	 * @param f the schematic
+	 * @param target the gif file to write
+	 * @param runs the number of runs, one more is done for warm-up
+	 */
+	public static void benchmarkGifExport(File f, File target, int runs) {
+		try {
+			ImageProvider.initialize();
+			ImageGridStack grids = SchematicReader.readSchematicsFile(f).getImages(1, true);
+			
+			for (int run = 0; run <= runs; ++run) {
+				long start = System.nanoTime();
+				writeGif(grids, target, null, false);
+				long perLayerNanos = System.nanoTime() - start;
+				
+				long perLayerSize = target.length();
+				
+				start = System.nanoTime();
+				GifPalette palette = GifPalette.create(grids.getExportColors(Color.WHITE), new int[] {Color.WHITE.getRGB(), Color.BLACK.getRGB()}, 255);
+				writeGif(grids, target, palette, false);
+				long paletteNanos = System.nanoTime() - start;
+				long paletteSize = target.length();
+				
+				start = System.nanoTime();
+				writeGif(grids, target, palette, true);
+				long deltaNanos = System.nanoTime() - start;
+				long deltaSize = target.length();
+				
+				start = System.nanoTime();
+				new GifExporter(grids, Color.WHITE, Color.BLACK).export(target, 0);
+				long pipelineNanos = System.nanoTime() - start;
+				
+				if (run > 0) { // first run is warm-up
+					System.out.println("palette per layer: " + (perLayerNanos / 1000000) + " ms, " + perLayerSize + " bytes; one palette: "
+							+ (paletteNanos / 1000000) + " ms, " + paletteSize + " bytes; delta frames: " + (deltaNanos / 1000000) + " ms, "
+							+ deltaSize + " bytes; pipelined: " + (pipelineNanos / 1000000) + " ms");
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Compares the time until the first layer can be shown when the whole schematic is read and all layers are made (the old way)
+	 * with a lazy stack, where only the shown layer is made
+	 * @param f the schematic, best uncompressed so it can be memory mapped
+	 * @param runs the number of runs, one more is done for warm-up
+	 */
+	public static void benchmarkFirstLayer(File f, int runs) {
+		try {
+			ImageProvider.initialize();
+			for (int run = 0; run <= runs; ++run) {
+				long start = System.nanoTime();
+				SliceStack stack = SchematicReader.readSchematicsFile(f, true, true);
+				stack.trim();
+				stack.getImages(1, true).getGridAtLevel(0);
+				long eagerNanos = System.nanoTime() - start;
+				
+				start = System.nanoTime();
+				stack = SchematicReader.readSchematicsFileLazily(f, true, 16);
+				stack.trim();
+				new ImageGridStack(stack, 1, true, 8).getGridAtLevel(0);
+				long lazyNanos = System.nanoTime() - start;
+				
+				if (run > 0) { // first run is warm-up
+					System.out.println("all layers: " + (eagerNanos / 1000000) + " ms, lazy: " + (lazyNanos / 1000000) + " ms until the first layer ("
+							+ stack.getHeight() + " layers)");
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Times turning a generated slice, which only changes the mapping of the positions, reading the turned slice row by row, laying
+	 * it out again with applyRotation() and reading it row by row after that
+	 * @param length the width of the slice
+	 * @param width the height of the slice
+	 * @param runs the number of runs, one more is done for warm-up
+	 */
+	public static void benchmarkRotation(int length, int width, int runs) {
+		Random random = new Random(0);
+		Slice slice = new Slice(length, width);
+		for (int y = 0; y < width; ++y) {
+			for (int x = 0; x < length; ++x) {
+				slice.setBlockState((short)35, (byte)random.nextInt(16), x, y); // wool
+			}
+		}
+		
+		for (int run = 0; run <= runs; ++run) {
+			long start = System.nanoTime();
+			slice.turnCW();
+			long turnNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			long sum = sumIds(slice);
+			long turnedReadNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			slice.applyRotation();
+			long applyNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			sum += sumIds(slice);
+			long readNanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println("turn: " + (turnNanos / 1000) + " us, read turned: " + (turnedReadNanos / 1000000) + " ms, apply rotation: "
+						+ (applyNanos / 1000000) + " ms, read laid out: " + (readNanos / 1000000) + " ms (" + sum + ")");
+			}
+		}
+	}
+	
+	private static long sumIds(Slice slice) {
+		long sum = 0;
+		for (int y = 0; y < slice.getHeight(); ++y) {
+			for (int x = 0; x < slice.getWidth(); ++x) {
+				sum += slice.getIdAt(x, y);
+			}
+		}
+		return sum;
+	}
+	
+	/**
+	 * Compares trimming a generated sparse schematic (a small cube of stone in the middle of a lot of air) the old way, with isEmpty()
+	 * and the getAirspace methods of every slice, with the one pass of SliceStack.trim()
+	 * @param length the width of the slices
+	 * @param width the height of the slices
+	 * @param height the number of slices
+	 * @param runs the number of runs, one more is done for warm-up
+	 */
+	public static void benchmarkTrim(int length, int width, int height, int runs) {
+		for (int run = 0; run <= runs; ++run) {
+			SliceStack stack = new SliceStack(height, length, width);
+			for (int z = height / 3; z < height / 2; ++z) {
+				Slice s = stack.getSlice(z);
+				for (int y = width / 3; y < width / 2; ++y) {
+					for (int x = length / 3; x < length / 2; ++x) {
+						s.setBlockState((short)1, (byte)0, x, y);
+					}
+				}
+			}
+			
+			long start = System.nanoTime();
+			int cut = 0;
+			for (Slice s : stack) {
+				if (s.isEmpty()) continue;
+				cut += s.getAirspaceLeft() + s.getAirspaceTop() + s.getAirspaceRight() + s.getAirspaceBottom();
+			}
+			long oldNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			stack.trim();
+			long trimNanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println("isEmpty and getAirspace: " + (oldNanos / 1000000) + " ms, trim: " + (trimNanos / 1000000) + " ms (" + cut + ", "
+						+ stack.getHeight() + "x" + stack.getLength() + "x" + stack.getWidth() + " left)");
+			}
+		}
+	}
+	
+	/**
+	 * Cuts the border off a stack again and again, like dragging a crop border, and compacts it in the end
+	 * @param length the length of the stack
+	 * @param width the width of the stack
+	 * @param height the height of the stack
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkCrop(int length, int width, int height, int runs) {
+		for (int run = 0; run <= runs; ++run) {
+			SliceStack stack = new SliceStack(height, length, width);
+			
+			long start = System.nanoTime();
+			int steps = 0;
+			while (stack.getLength() > 2 && stack.getWidth() > 2) {
+				stack.cutOff(0, 0, 1, 1, 0, 0);
+				++steps;
+			}
+			long cropNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			stack.compact();
+			long compactNanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println(steps + " cuts: " + (cropNanos / 1000000) + " ms, compact: " + (compactNanos / 1000000) + " ms");
+			}
+		}
+	}
+	
+	/**
+	 * Counts the blocks of a schematic by looking up the name of every block, like the block counter did, and with
+	 * SliceStack.countBlocks()
+	 * @param f the schematic
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkBlockCount(File f, int runs) {
+		try {
+			SliceStack stack = SchematicReader.readSchematicsFile(f);
+			for (int run = 0; run <= runs; ++run) {
+				long start = System.nanoTime();
+				TreeMap<String, Integer> byName = new TreeMap<String, Integer>();
+				for (Slice s : stack) {
+					for (int y = 0; y < s.getHeight(); ++y) {
+						for (int x = 0; x < s.getWidth(); ++x) {
+							Block b = s.getBlockAt(x, y);
+							if (b.getId() == 0) continue;
+							String name = NameProvider.getNameOfBlockOrItem(b.getId(), b.getData());
+							Integer amount = byName.get(name);
+							byName.put(name, (amount == null) ? 1 : amount + 1);
+						}
+					}
+				}
+				long perBlockNanos = System.nanoTime() - start;
+				
+				start = System.nanoTime();
+				TreeMap<String, Integer> counted = stack.countBlocks(false).getAmountsByName();
+				long countNanos = System.nanoTime() - start;
+				
+				if (run > 0) { // first run is warm-up
+					System.out.println("name per block: " + (perBlockNanos / 1000000) + " ms, countBlocks: " + (countNanos / 1000000) + " ms ("
+							+ counted.size() + " names, same result: " + counted.equals(byName) + ")");
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Times the calculation of the wires of a generated stack that is full of redstone: all slices at once, one slice after the
+	 * other like the lazy image grids do and only around a changed block
+	 * @param length the length of the stack
+	 * @param width the width of the stack
+	 * @param height the height of the stack
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkWires(int length, int width, int height, int runs) {
+		// wires, tripwires, hooks, torches, levers, plates, buttons, repeaters, stone, glass, air and slabs
+		short[] ids = {55, 55, 55, 132, 132, 131, 76, 69, 70, 77, 93, 1, 1, 20, 0, 0, 44};
+		byte[] data = {0, 0, 0, 0, 0, 2, 5, 5, 0, 1, 0, 0, 0, 0, 0, 0, 0};
+		Random random = new Random(1);
+		SliceStack stack = new SliceStack(height, length, width);
+		for (Slice s : stack) {
+			for (int y = 0; y < width; ++y) {
+				for (int x = 0; x < length; ++x) {
+					int i = random.nextInt(ids.length);
+					s.setBlockState(ids[i], data[i], x, y);
+				}
+			}
+		}
+		
+		for (int run = 0; run <= runs; ++run) {
+			long start = System.nanoTime();
+			WireConnector.connect(stack);
+			long stackNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			for (int z = 0; z < height; ++z) {
+				WireConnector.connect(stack.getSlice(z), (z != 0) ? stack.getSlice(z - 1) : null, (z != height - 1) ? stack.getSlice(z + 1) : null);
+			}
+			long layerNanos = System.nanoTime() - start;
+			
+			start = System.nanoTime();
+			stack.setBlockState((short)55, (byte)0, random.nextInt(length), random.nextInt(width), random.nextInt(height));
+			stack.updateImages(new ImageGridStack(stack, 1, true, 1), true); // no grids in memory
+			long changeNanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println("all slices: " + (stackNanos / 1000000) + " ms, slice by slice: " + (layerNanos / 1000000) + " ms, one change: "
+						+ (changeNanos / 1000) + " us");
+			}
+		}
+	}
+	
+	/**
+	 * Compares the wires calculated by the WireConnector with the ones of the old block by block calculation on random stacks,
+	 * many of them only one block wide or long
+	 * @param stacks how many stacks to compare
+	 * @param seed the seed of the random stacks
+	 * @return the number of wires that differ
+	 */
+	public static int testWires(int stacks, long seed) {
+		short[] ids = {55, 55, 55, 132, 132, 131, 76, 69, 70, 77, 93, 1, 1, 20, 0, 0, 44};
+		byte[] data = {0, 0, 0, 0, 0, 2, 5, 5, 0, 1, 0, 0, 0, 0, 0, 0, 0};
+		Random random = new Random(seed);
+		int wires = 0;
+		int differences = 0;
+		for (int n = 0; n < stacks; ++n) {
+			int length = 1 + random.nextInt(random.nextBoolean() ? 2 : 12);
+			int width = 1 + random.nextInt(random.nextBoolean() ? 2 : 12);
+			int height = 1 + random.nextInt(4);
+			SliceStack stack = new SliceStack(height, length, width);
+			SliceStack expected = new SliceStack(height, length, width);
+			for (int z = 0; z < height; ++z) {
+				for (int y = 0; y < width; ++y) {
+					for (int x = 0; x < length; ++x) {
+						int i = random.nextInt(ids.length);
+						stack.getSlice(z).setBlockState(ids[i], data[i], x, y);
+						expected.getSlice(z).setBlockState(ids[i], data[i], x, y);
+					}
+				}
+			}
+			
+			WireConnector.connect(stack);
+			for (int z = 0; z < height; ++z) {
+				connectWiresAsBefore(expected.getSlice(z), (z != 0) ? expected.getSlice(z - 1) : null,
+						(z != height - 1) ? expected.getSlice(z + 1) : null);
+			}
+			
+			for (int z = 0; z < height; ++z) {
+				for (int y = 0; y < width; ++y) {
+					for (int x = 0; x < length; ++x) {
+						Block b = stack.getSlice(z).getBlockAt(x, y);
+						Block e = expected.getSlice(z).getBlockAt(x, y);
+						String type;
+						String expectedType;
+						if (b.isRedstoneWire()) {
+							type = ((RedstoneWire)b).isLine() + " " + ((RedstoneWire)b).getWireDirection();
+							expectedType = ((RedstoneWire)e).isLine() + " " + ((RedstoneWire)e).getWireDirection();
+						} else if (b.isTripwire()) {
+							type = ((TripWire)b).isLine() + " " + ((TripWire)b).getWireDirection();
+							expectedType = ((TripWire)e).isLine() + " " + ((TripWire)e).getWireDirection();
+						} else {
+							continue;
+						}
+						++wires;
+						if (!type.equals(expectedType)) {
+							++differences;
+							System.out.println(b + " at " + x + ", " + y + ", " + z + " of a " + length + "x" + width + "x" + height
+									+ " stack differs: line/direction " + type + " instead of " + expectedType);
+						}
+					}
+				}
+			}
+		}
+		System.out.println(wires + " wires compared, " + differences + " differ");
+		return differences;
+	}
+	
+	/**
+	 * Compares the images of all layers of a schematic read into a normal stack with the ones of the same schematic read lazily,
+	 * memory mapped and streamed, like the GUI and the export do it
+	 * @param f the schematic
+	 * @param maxResidentSlices the number of slices the lazy stacks keep in memory, less than the layers of the schematic
+	 * @return the number of layers whose images differ
+	 */
+	public static int testLazyImages(File f, int maxResidentSlices) {
+		int differences = 0;
+		try {
+			ImageProvider.initialize();
+			ImageGridStack expected = SchematicReader.readSchematicsFile(f).getImages(1, true);
+			for (boolean mapFile : new boolean[] {false, true}) {
+				ImageGridStack grids = SchematicReader.readSchematicsFileLazily(f, mapFile, maxResidentSlices).getImages(1, true);
+				for (int level = 0; level < expected.getStackSize(); ++level) {
+					BufferedImage expectedImage = expected.getGridAtLevel(level).exportImage(Color.WHITE, Color.BLACK);
+					BufferedImage image = grids.getGridAtLevel(level).exportImage(Color.WHITE, Color.BLACK);
+					if (!Arrays.equals(getPixels(expectedImage), getPixels(image))) {
+						++differences;
+						System.out.println("Layer " + level + " of the lazy stack" + (mapFile ? " (memory mapped)" : "") + " differs");
+					}
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			return -1;
+		}
+		System.out.println(differences + " layers differ");
+		return differences;
+	}
+	
+	/**
+	 * Turns a slice of all stairs, normal and upside down, and compares the data and images of the turned stairs with the ones of new
+	 * stairs of the same id and data. After every turn, all stairs are set again and have to resolve to the stair that was asked for
+	 * @return the number of stairs that differ
+	 */
+	public static int testTurnedStairs() {
+		try {
+			ImageProvider.initialize();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return -1;
+		}
+		Stair.StairType[] types = Stair.StairType.values();
+		HashMap<Integer, int[]> expectedPixels = new HashMap<Integer, int[]>();
+		Slice slice = new Slice(8, types.length);
+		for (int y = 0; y < types.length; ++y) {
+			short id = Stair.getStairIdByType(types[y]);
+			// upside down first, so they come before the normal stairs in the palette
+			for (byte data = 7; data >= 0; --data) {
+				expectedPixels.put((id << 8) | data, getPixels(Block.getInstance(id, data).getImage(1)));
+				slice.setBlockState(id, data, data, y);
+			}
+		}
+		
+		int differences = 0;
+		for (int turn = 1; turn <= 4; ++turn) {
+			slice.turnCW();
+			for (int y = 0; y < slice.getHeight(); ++y) {
+				for (int x = 0; x < slice.getWidth(); ++x) {
+					Stair stair = (Stair)slice.getBlockAt(x, y);
+					if (stair.isUpsideDown() != ((stair.getData() & 0x4) != 0)
+							|| !Arrays.equals(expectedPixels.get((stair.getId() << 8) | stair.getData()), getPixels(stair.getImage(1)))) {
+						++differences;
+						System.out.println(stair + " (data " + stair.getData() + ") differs after " + turn + " turns");
+					}
+				}
+			}
+			
+			for (int y = 0; y < types.length; ++y) {
+				short id = Stair.getStairIdByType(types[y]);
+				for (byte data = 0; data < 8; ++data) {
+					slice.setBlockState(id, data, 0, 0);
+					Stair stair = (Stair)slice.getBlockAt(0, 0);
+					if (stair.getData() != data || stair.isUpsideDown() != ((data & 0x4) != 0)) {
+						++differences;
+						System.out.println(id + ":" + data + " set after " + turn + " turns resolves to " + stair + " (data " + stair.getData() + ")");
+					}
+				}
+			}
+		}
+		System.out.println(differences + " stairs differ");
+		return differences;
+	}
+	
+	private static int[] getPixels(BufferedImage img) {
+		return img.getRGB(0, 0, img.getWidth(), img.getHeight(), null, 0, img.getWidth());
+	}
+	
+	/**
+	 * The calculation of the wires before the WireConnector, neighbour by neighbour
+	 */
+	private static void connectWiresAsBefore(Slice slice, Slice lowerSlice, Slice upperSlice) {
+		for (int i = 0; i < slice.getWidth(); ++i) {
+			for (int j = 0; j < slice.getHeight(); ++j) {
+				if (slice.getBlockAt(i, j).isRedstoneWire()) {
+					// north, east, south, west
+					int[][] neighbours = {{i, j - 1}, {i + 1, j}, {i, j + 1}, {i - 1, j}};
+					boolean[] wire = new boolean[4];
+					for (int dir = 0; dir < 4; ++dir) {
+						int x = neighbours[dir][0];
+						int y = neighbours[dir][1];
+						if (x < 0 || y < 0 || x >= slice.getWidth() || y >= slice.getHeight()) continue;
+						
+						// same level
+						Block b = slice.getBlockAt(x, y);
+						wire[dir] = b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
+								|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate();
+						
+						// upper level (only if there is a upper level and the block above is air)
+						if (!wire[dir] && upperSlice != null && !WireConnector.blocksWire(upperSlice.getBlockAt(i, j))) {
+							b = upperSlice.getBlockAt(x, y);
+							wire[dir] = b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate()
+									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate();
+						}
+						
+						// lower level (only if there is a lower level and there's no block in the way on the side)
+						if (!wire[dir] && lowerSlice != null && !WireConnector.blocksWire(slice.getBlockAt(x, y))) {
+							b = lowerSlice.getBlockAt(x, y);
+							wire[dir] = b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isButton()
+									|| b.isDetectorRail() || b.isRepeater() || b.isFenceGate();
+						}
+					}
+					((RedstoneWire)slice.getMutableBlockAt(i, j)).setWireType(wire[0], wire[1], wire[2], wire[3]);
+				} else if (slice.getBlockAt(i, j).isTripwire()) {
+					// tripwire is only two dimensional e.g. on slice level
+					boolean wireInNorth = j != 0 && (slice.getBlockAt(i, j - 1).isTripwire() || slice.getBlockAt(i, j - 1).isTripwireHook());
+					boolean wireInEast = i != slice.getWidth() - 1
+							&& (slice.getBlockAt(i + 1, j).isTripwire() || slice.getBlockAt(i + 1, j).isTripwireHook());
+					boolean wireInSouth = j != slice.getHeight() - 1
+							&& (slice.getBlockAt(i, j + 1).isTripwire() || slice.getBlockAt(i, j + 1).isTripwireHook());
+					boolean wireInWest = i != 0 && (slice.getBlockAt(i - 1, j).isTripwire() || slice.getBlockAt(i - 1, j).isTripwireHook());
+					((TripWire)slice.getMutableBlockAt(i, j)).setWireType(wireInNorth, wireInEast, wireInSouth, wireInWest);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Looks up the images of all id and data pairs of a schematic again and again, on one thread and on as many threads as there
+	 * are processors
+	 * @param f the schematic
+	 * @param lookups how many lookups per thread
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkImageLookup(File f, final int lookups, int runs) {
+		try {
+			ImageProvider.initialize();
+			final int[] keys = SchematicReader.readSchematicsFile(f).countBlocks(false).getKeys();
+			int threads = Runtime.getRuntime().availableProcessors();
+			for (int run = 0; run <= runs; ++run) {
+				long start = System.nanoTime();
+				lookUpImages(keys, lookups);
+				long singleNanos = System.nanoTime() - start;
+				
+				start = System.nanoTime();
+				IntStream.range(0, threads).parallel().forEach(i -> lookUpImages(keys, lookups));
+				long parallelNanos = System.nanoTime() - start;
+				
+				if (run > 0) { // first run is warm-up
+					System.out.println(lookups + " lookups: " + (singleNanos / 1000000) + " ms, " + threads + " x " + lookups + " lookups on "
+							+ threads + " threads: " + (parallelNanos / 1000000) + " ms");
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	private static int lookUpImages(int[] keys, int lookups) {
+		int found = 0;
+		for (int i = 0; i < lookups; ++i) {
+			int key = keys[i % keys.length];
+			if (ImageProvider.getImageByBlockOrItemID(BlockCount.getId(key), BlockCount.getData(key)) != null) ++found;
+		}
+		return found;
+	}
+	
+	/**
+	 * Looks up the names of all id and data pairs of a schematic again and again, and the id and data of these names
+	 * @param f the schematic
+	 * @param lookups how many lookups
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkNameLookup(File f, int lookups, int runs) {
+		try {
+			int[] keys = SchematicReader.readSchematicsFile(f).countBlocks(false).getKeys();
+			String[] names = new String[keys.length];
+			for (int i = 0; i < keys.length; ++i) {
+				names[i] = NameProvider.getNameOfBlockOrItem(BlockCount.getId(keys[i]), BlockCount.getData(keys[i]));
+			}
+			for (int run = 0; run <= runs; ++run) {
+				int found = 0;
+				long start = System.nanoTime();
+				for (int i = 0; i < lookups; ++i) {
+					int key = keys[i % keys.length];
+					if (!NameProvider.getNameOfBlockOrItem(BlockCount.getId(key), BlockCount.getData(key)).isEmpty()) ++found;
+				}
+				long nameNanos = System.nanoTime() - start;
+				
+				start = System.nanoTime();
+				for (int i = 0; i < lookups; ++i) {
+					if (NameProvider.getKeyByName(names[i % names.length]) != -1) ++found;
+				}
+				long keyNanos = System.nanoTime() - start;
+				
+				if (run > 0) { // first run is warm-up
+					System.out.println(lookups + " names: " + (nameNanos / 1000000) + " ms, " + lookups + " ids by name: "
+							+ (keyNanos / 1000000) + " ms (" + found + " found)");
+				}
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Looks up the ids of namespaced item ids like the reader does for the items in containers, each name a new string like
+	 * the ones read from a file
+	 * @param lookups how many lookups
+	 * @param runs how many times to measure
+	 */
+	public static void benchmarkItemIdLookup(int lookups, int runs) {
+		String[] names = {"minecraft:arrow", "minecraft:diamond_sword", "minecraft:bread", "minecraft:iron_ingot", "minecraft:redstone",
+				"minecraft:cobblestone", "minecraft:bed", "minecraft:record_wait", "minecraft:torch", "minecraft:coal"};
+		String[] copies = new String[lookups];
+		for (int i = 0; i < lookups; ++i) {
+			copies[i] = new String(names[i % names.length]);
+		}
+		for (int run = 0; run <= runs; ++run) {
+			int sum = 0;
+			long start = System.nanoTime();
+			for (int i = 0; i < lookups; ++i) {
+				sum += SchematicReader.mcNameToShortID(copies[i]);
+			}
+			long nanos = System.nanoTime() - start;
+			
+			if (run > 0) { // first run is warm-up
+				System.out.println(lookups + " item ids: " + (nanos / 1000000) + " ms (sum " + sum + ")");
+			}
+		}
+	}
+	
+	private static void writeGif(ImageGridStack grids, File target, GifPalette palette, boolean deltaFrames) {
+		AnimatedGifEncoder encoder = new AnimatedGifEncoder();
+		encoder.setPalette(palette);
+		encoder.setDeltaFrames(deltaFrames);
+		encoder.setRepeat(0);
+		encoder.start(target.getAbsolutePath());
+		for (int i = 0; i < grids.getStackSize(); ++i) {
+			encoder.addFrame(grids.getGridAtLevel(i).exportImage(Color.WHITE, Color.BLACK));
+		}
+		encoder.finish();
+	}
+	
 	/**
 	 * @param args
 	 * @throws IOException
@@ -88,5 +833,22 @@ public class Test {
 		//		new File("/home/klaue/Desktop/bukkit/plugins/WorldEdit/schematics/132test2.schematic"));
 		// testGraphical(new File("/home/klaue/Desktop/bukkit/plugins/WorldEdit/schematics/132test.schematic"), 0);
 		//testConsole(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"));
+		//benchmarkMemory(256, 256, 128);
+		//benchmarkTileEntityLookup(256 * 256 * 128, 50000, 5);
+		//benchmarkGifExport(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"), new File("/home/klaue/Desktop/hugeshroom.gif"), 5);
+		//benchmarkLoading(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"),
+		//		new File("/home/klaue/.minecraft/schematics/hugeshroom_unzipped.schematic"), 10);
+		//benchmarkTrim(512, 512, 128, 5);
+		//benchmarkCrop(512, 512, 128, 5);
+		//benchmarkBlockCount(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"), 5);
+		//benchmarkWires(256, 256, 32, 5);
+		//testWires(1000, 0);
+		//testTurnedStairs();
+		//testLazyImages(new File("/home/klaue/.minecraft/schematics/hugeshroom_unzipped.schematic"), 16);
+		//benchmarkImageLookup(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"), 10000000, 5);
+		//benchmarkNameLookup(new File("/home/klaue/.minecraft/schematics/hugeshroom.schematic"), 10000000, 5);
+		//benchmarkItemIdLookup(1000000, 5);
+		//benchmarkRotation(4096, 4096, 5);
+		//benchmarkFirstLayer(new File("/home/klaue/.minecraft/schematics/hugeshroom_unzipped.schematic"), 5);
 	}
 }
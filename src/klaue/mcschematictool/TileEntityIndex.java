@@ -0,0 +1,109 @@
+package klaue.mcschematictool;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.jnbt.Tag;
+
+/**
+ * The tile entities of a schematic, sorted by their block index. Since the blocks are read in index order, a lookup does not
+ * need a search - a Cursor just walks along with the block index. There is no boxing of the indices
+ * @author klaue
+ */
+public class TileEntityIndex {
+	private int[] indices;
+	private Map<String, Tag>[] entities;
+
+	/**
+	 * Builds the index. If there are multiple tile entities for the same block, the last one in the list is used
+	 * @param blockIndices the block index of each tile entity
+	 * @param entities the tile entities, same order as blockIndices
+	 */
+	public TileEntityIndex(int[] blockIndices, List<Map<String, Tag>> entities) {
+		int count = blockIndices.length;
+
+		// sort by block index, then by position in the list so duplicates stay in their order
+		long[] packed = new long[count];
+		for (int i = 0; i < count; ++i) {
+			packed[i] = ((long)blockIndices[i] << 32) | i;
+		}
+		Arrays.sort(packed);
+
+		this.indices = new int[count];
+		@SuppressWarnings("unchecked")
+		Map<String, Tag>[] sorted = (Map<String, Tag>[])new Map<?, ?>[count];
+		this.entities = sorted;
+		int size = 0;
+		for (int i = 0; i < count; ++i) {
+			int blockIndex = (int)(packed[i] >> 32);
+			Map<String, Tag> entity = entities.get((int)packed[i]);
+			if (size > 0 && this.indices[size - 1] == blockIndex) {
+				this.entities[size - 1] = entity; // the later one wins
+			} else {
+				this.indices[size] = blockIndex;
+				this.entities[size] = entity;
+				++size;
+			}
+		}
+		if (size < count) {
+			this.indices = Arrays.copyOf(this.indices, size);
+			this.entities = Arrays.copyOf(this.entities, size);
+		}
+	}
+
+	/**
+	 * Gets the tile entity of the given block by binary search. For lookups in index order, use a cursor instead
+	 * @param blockIndex the block index
+	 * @return the tile entity or null if the block has none
+	 */
+	public Map<String, Tag> get(int blockIndex) {
+		int pos = Arrays.binarySearch(this.indices, blockIndex);
+		return (pos < 0) ? null : this.entities[pos];
+	}
+
+	/**
+	 * @return the number of tile entities
+	 */
+	public int size() {
+		return this.indices.length;
+	}
+
+	/**
+	 * Returns a cursor for lookups in ascending order, starting at the given block index
+	 * @param startIndex the first block index that will be looked up
+	 * @return the cursor
+	 */
+	public Cursor cursor(int startIndex) {
+		int pos = Arrays.binarySearch(this.indices, startIndex);
+		return new Cursor((pos < 0) ? -pos - 1 : pos);
+	}
+
+	/**
+	 * Looks up tile entities with ascending block indices, moving forward through the index. Every cursor is meant to be
+	 * used by one thread only
+	 */
+	public class Cursor {
+		private int pos;
+
+		private Cursor(int pos) {
+			this.pos = pos;
+		}
+
+		/**
+		 * Gets the tile entity of the given block. The block index must not be smaller than the one of the last call
+		 * @param blockIndex the block index
+		 * @return the tile entity or null if the block has none
+		 */
+		public Map<String, Tag> get(int blockIndex) {
+			int[] idx = TileEntityIndex.this.indices;
+			while (this.pos < idx.length && idx[this.pos] < blockIndex) {
+				++this.pos;
+			}
+			if (this.pos < idx.length && idx[this.pos] == blockIndex) {
+				return TileEntityIndex.this.entities[this.pos];
+			}
+			return null;
+		}
+	}
+}
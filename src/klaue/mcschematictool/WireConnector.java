@@ -0,0 +1,276 @@
+package klaue.mcschematictool;
+
+import java.util.stream.IntStream;
+
+import klaue.mcschematictool.blocktypes.Block;
+import klaue.mcschematictool.blocktypes.RedstoneWire;
+import klaue.mcschematictool.blocktypes.StoneSlab;
+import klaue.mcschematictool.blocktypes.TripWire;
+import klaue.mcschematictool.blocktypes.WoodenSlab;
+
+/**
+ * Calculates the directions of redstone and trip wires.<br>
+ * What a block does for wires (connecting to them, blocking them) is looked up once per palette entry and saved as bits per position
+ * of a layer, one bitset per property. The neighbours in every direction are then found by shifting the whole bitset, so the wires
+ * only need to read four bits instead of looking at up to twelve blocks
+ * @author klaue
+ */
+class WireConnector {
+	// the properties of a block, bit numbers in the flags and indices of the bitsets
+	private static final int CONNECTS = 0; // connects to a wire on the same level or above
+	private static final int CONNECTS_BELOW = 1; // connects to a wire on the level below (like CONNECTS, but not buttons)
+	private static final int BLOCKS = 2; // blocks a wire going up or down
+	private static final int REDSTONE_WIRE = 3;
+	private static final int TRIP_WIRE = 4;
+	private static final int CONNECTS_TRIP_WIRE = 5;
+	private static final int PROPERTIES = 6;
+
+	/**
+	 * Calculates the wires of all slices of the stack. The bits of the layers are set and then the wires calculated, both in
+	 * parallel over the layers
+	 * @param stack the stack
+	 */
+	static void connect(SliceStack stack) {
+		int height = stack.getHeight();
+		long[][][] bits = new long[height][][];
+		IntStream.range(0, height).parallel().forEach(z -> bits[z] = getBits(stack.getSlice(z)));
+		IntStream.range(0, height).parallel().forEach(z -> connect(stack.getSlice(z), bits[z],
+				(z != 0) ? bits[z - 1] : null, (z != height - 1) ? bits[z + 1] : null));
+	}
+
+	/**
+	 * Calculates the wires of a slice
+	 * @param slice the slice
+	 * @param lowerSlice the slice below or null if there is none
+	 * @param upperSlice the slice above or null if there is none
+	 */
+	static void connect(Slice slice, Slice lowerSlice, Slice upperSlice) {
+		connect(slice, getBits(slice), (lowerSlice != null) ? getBits(lowerSlice) : null,
+				(upperSlice != null) ? getBits(upperSlice) : null);
+	}
+
+	/**
+	 * Calculates the wires in a part of a slice. The neighbours are looked at one by one, which is faster than setting the bits
+	 * of whole layers if the part is small, like the blocks around a change
+	 * @param slice the slice
+	 * @param lowerSlice the slice below or null if there is none
+	 * @param upperSlice the slice above or null if there is none
+	 * @param left the first column of the part
+	 * @param top the first row of the part
+	 * @param right the last column of the part
+	 * @param bottom the last row of the part
+	 */
+	static void connect(Slice slice, Slice lowerSlice, Slice upperSlice, int left, int top, int right, int bottom) {
+		for (int y = top; y <= bottom; ++y) {
+			for (int x = left; x <= right; ++x) {
+				int flags = getFlags(slice.getBlockAt(x, y));
+				if ((flags & (1 << REDSTONE_WIRE)) != 0) {
+					boolean free = (upperSlice != null) && (getFlags(upperSlice.getBlockAt(x, y)) & (1 << BLOCKS)) == 0;
+					((RedstoneWire)slice.getMutableBlockAt(x, y)).setWireType(
+							connects(slice, lowerSlice, free ? upperSlice : null, x, y - 1),
+							connects(slice, lowerSlice, free ? upperSlice : null, x + 1, y),
+							connects(slice, lowerSlice, free ? upperSlice : null, x, y + 1),
+							connects(slice, lowerSlice, free ? upperSlice : null, x - 1, y));
+				} else if ((flags & (1 << TRIP_WIRE)) != 0) {
+					((TripWire)slice.getMutableBlockAt(x, y)).setWireType(connectsTripWire(slice, x, y - 1),
+							connectsTripWire(slice, x + 1, y), connectsTripWire(slice, x, y + 1), connectsTripWire(slice, x - 1, y));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if a redstone wire connects to the given neighbour
+	 * @param slice the slice of the wire
+	 * @param lowerSlice the slice below or null if there is none
+	 * @param upperSlice the slice above or null if there is none or the block above the wire blocks it
+	 * @param x the column of the neighbour
+	 * @param y the row of the neighbour
+	 * @return true if the wire connects
+	 */
+	private static boolean connects(Slice slice, Slice lowerSlice, Slice upperSlice, int x, int y) {
+		if (x < 0 || y < 0 || x >= slice.getWidth() || y >= slice.getHeight()) return false;
+		int flags = getFlags(slice.getBlockAt(x, y));
+		if ((flags & (1 << CONNECTS)) != 0) return true;
+		if (upperSlice != null && (getFlags(upperSlice.getBlockAt(x, y)) & (1 << CONNECTS_BELOW)) != 0) return true;
+		return lowerSlice != null && (flags & (1 << BLOCKS)) == 0 && (getFlags(lowerSlice.getBlockAt(x, y)) & (1 << CONNECTS)) != 0;
+	}
+
+	private static boolean connectsTripWire(Slice slice, int x, int y) {
+		if (x < 0 || y < 0 || x >= slice.getWidth() || y >= slice.getHeight()) return false;
+		return (getFlags(slice.getBlockAt(x, y)) & (1 << CONNECTS_TRIP_WIRE)) != 0;
+	}
+
+	/**
+	 * Sets the direction of every wire of a slice
+	 * @param slice the slice
+	 * @param bits the bits of the slice
+	 * @param lower the bits of the slice below or null
+	 * @param upper the bits of the slice above or null
+	 */
+	private static void connect(Slice slice, long[][] bits, long[][] lower, long[][] upper) {
+		int width = slice.getWidth();
+		int size = width * slice.getHeight();
+
+		// a wire connects to a neighbour on the same level or to one on the level below if the block on the side doesn't block it
+		long[] sameOrBelow = bits[CONNECTS].clone();
+		if (lower != null) {
+			for (int i = 0; i < sameOrBelow.length; ++i) {
+				sameOrBelow[i] |= lower[CONNECTS][i] & ~bits[BLOCKS][i];
+			}
+		}
+		// and to one on the level above if the block above the wire doesn't block it
+		long[] aboveWire = null;
+		if (upper != null) {
+			aboveWire = new long[sameOrBelow.length];
+			for (int i = 0; i < aboveWire.length; ++i) {
+				aboveWire[i] = ~upper[BLOCKS][i];
+			}
+		}
+
+		long[] notFirstColumn = new long[sameOrBelow.length];
+		long[] notLastColumn = new long[sameOrBelow.length];
+		for (int pos = 0; pos < size; ++pos) {
+			int x = pos % width;
+			if (x != 0) notFirstColumn[pos >>> 6] |= 1L << pos;
+			if (x != width - 1) notLastColumn[pos >>> 6] |= 1L << pos;
+		}
+
+		// north, east, south, west
+		int[] offsets = {-width, 1, width, -1};
+		long[][] redstone = new long[4][];
+		long[][] trip = new long[4][];
+		for (int dir = 0; dir < 4; ++dir) {
+			redstone[dir] = neighbours(sameOrBelow, offsets[dir]);
+			if (upper != null) {
+				long[] above = neighbours(upper[CONNECTS_BELOW], offsets[dir]);
+				for (int i = 0; i < above.length; ++i) {
+					redstone[dir][i] |= above[i] & aboveWire[i];
+				}
+			}
+			trip[dir] = neighbours(bits[CONNECTS_TRIP_WIRE], offsets[dir]);
+
+			// the neighbours to the side of the first and last column are on the row before or after. Picked by direction, not by
+			// offset, as north and south have an offset of 1 too if the slice is one block wide
+			long[] columns = (dir == 1) ? notLastColumn : (dir == 3) ? notFirstColumn : null;
+			if (columns != null) {
+				for (int i = 0; i < columns.length; ++i) {
+					redstone[dir][i] &= columns[i];
+					trip[dir][i] &= columns[i];
+				}
+			}
+		}
+
+		setWires(slice, bits[REDSTONE_WIRE], redstone, false);
+		setWires(slice, bits[TRIP_WIRE], trip, true);
+	}
+
+	private static void setWires(Slice slice, long[] wires, long[][] connected, boolean tripWires) {
+		int width = slice.getWidth();
+		for (int i = 0; i < wires.length; ++i) {
+			long word = wires[i];
+			while (word != 0) {
+				int bit = Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				long mask = 1L << bit;
+				int pos = (i << 6) + bit;
+				boolean north = (connected[0][i] & mask) != 0;
+				boolean east = (connected[1][i] & mask) != 0;
+				boolean south = (connected[2][i] & mask) != 0;
+				boolean west = (connected[3][i] & mask) != 0;
+				Block b = slice.getMutableBlockAt(pos % width, pos / width);
+				if (tripWires) {
+					((TripWire)b).setWireType(north, east, south, west);
+				} else {
+					((RedstoneWire)b).setWireType(north, east, south, west);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the bits of all properties of a slice
+	 * @param slice the slice
+	 * @return the bitsets, indexed by property. Position x, y is bit y * width + x
+	 */
+	private static long[][] getBits(Slice slice) {
+		// look at every block of the palette only once
+		BlockPalette palette = slice.getPalette();
+		int[] flags = new int[palette.size()];
+		for (int i = 0; i < flags.length; ++i) {
+			flags[i] = getFlags(palette.get(i));
+		}
+
+		int width = slice.getWidth();
+		int height = slice.getHeight();
+		long[][] bits = new long[PROPERTIES][(width * height + 63) >>> 6];
+		for (int y = 0; y < height; ++y) {
+			for (int x = 0; x < width; ++x) {
+				int f = flags[slice.getIndexAt(x, y)];
+				int pos = y * width + x;
+				while (f != 0) {
+					int property = Integer.numberOfTrailingZeros(f);
+					f &= f - 1;
+					bits[property][pos >>> 6] |= 1L << pos;
+				}
+			}
+		}
+		return bits;
+	}
+
+	private static int getFlags(Block b) {
+		int flags = 0;
+		if (b.isRedstoneWire() || b.isRedstoneTorch() || b.isLever() || b.isPressurePlate() || b.isDetectorRail() || b.isRepeater()
+				|| b.isFenceGate()) {
+			flags |= (1 << CONNECTS) | (1 << CONNECTS_BELOW);
+		} else if (b.isButton()) {
+			flags |= 1 << CONNECTS;
+		}
+		if (blocksWire(b)) flags |= 1 << BLOCKS;
+		if (b.isRedstoneWire()) flags |= 1 << REDSTONE_WIRE;
+		if (b.isTripwire()) flags |= 1 << TRIP_WIRE;
+		if (b.isTripwire() || b.isTripwireHook()) flags |= 1 << CONNECTS_TRIP_WIRE;
+		return flags;
+	}
+
+	/**
+	 * Gets the bits of the neighbours in one direction: bit p of the result is bit p + offset of the given bits, or 0 if that's
+	 * outside
+	 * @param bits the bits
+	 * @param offset the offset of the neighbour, for example 1 for the one to the right or -width for the one above
+	 * @return the bits of the neighbours
+	 */
+	private static long[] neighbours(long[] bits, int offset) {
+		long[] result = new long[bits.length];
+		int words = offset >> 6; // rounds down for negative offsets too
+		int shift = offset & 63;
+		for (int i = 0; i < result.length; ++i) {
+			long low = word(bits, i + words);
+			result[i] = (shift == 0) ? low : (low >>> shift) | (word(bits, i + words + 1) << (64 - shift));
+		}
+		return result;
+	}
+
+	private static long word(long[] bits, int i) {
+		return (i >= 0 && i < bits.length) ? bits[i] : 0;
+	}
+
+	/**
+	 * Checks if this block would block wire paths
+	 * @param b the block
+	 * @return true if the block would.. block
+	 */
+	static boolean blocksWire(Block b) {
+		if (b.isBed() || b.isTorch() || b.isStair() || b.isSign() || b.isLadder()
+				|| b.getId() == 0  // air
+				|| b.getId() == 20 // glass
+				|| b.getId() == 52 // monster spawner
+				|| b.getId() == 79 // ice
+				|| b.getId() == 85 // fence
+				|| (b.isStoneSlab() && !((StoneSlab)b).isDoubleSlab())
+				|| (b.isWoodenSlab() && !((WoodenSlab)b).isDoubleSlab())) {
+			return false;
+		}
+		return true;
+	}
+}
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -10,10 +9,6 @@ import klaue.mcschematictool.ImageProvider;
  * @author klaue
  */
 public class ActivatorRail extends PoweredRail {
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > onActivatorRailImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > offActivatorRailImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static double activatorRailZoomCache = -1;
-	
 	/**
 	 * initializes the powered rail
 	 * @param data
@@ -41,36 +36,9 @@ public class ActivatorRail extends PoweredRail {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		// same as the function in poweredrail. just not sure if that static cache would work witrh a subclass
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (activatorRailZoomCache != zoom) {
-			// reset cache
-			onActivatorRailImageCache.clear();
-			offActivatorRailImageCache.clear();
-			activatorRailZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap;
-			if (this.isOn) {
-				directionalMap = onActivatorRailImageCache.get(this.railType);
-			} else {
-				directionalMap = offActivatorRailImageCache.get(this.railType);
-			}
-				
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -101,24 +69,6 @@ public class ActivatorRail extends PoweredRail {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isOn) {
-			if (onActivatorRailImageCache.containsKey(this.railType)) {
-				onActivatorRailImageCache.get(this.railType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				onActivatorRailImageCache.put(this.railType, tempMap);
-			}
-		} else {
-			if (offActivatorRailImageCache.containsKey(this.railType)) {
-				offActivatorRailImageCache.get(this.railType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				offActivatorRailImageCache.put(this.railType, tempMap);
-			}
-		}
 		return img;
 	}
 }
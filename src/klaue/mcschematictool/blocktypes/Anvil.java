@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -27,9 +26,6 @@ public class Anvil extends DirectionalBlock {
 		public String toString() { return (this.name == null) ? super.toString().toLowerCase() : this.name;}
 	}
 	
-	private static HashMap<Direction, BufferedImage> anvilImageCache = new HashMap<Direction, BufferedImage>();
-	private static double anvilZoomCache = -1;
-	
 	private AnvilCondition condition = AnvilCondition.MINT;
 	
 	/**
@@ -136,24 +132,9 @@ public class Anvil extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (anvilZoomCache != zoom) {
-			// reset cache
-			anvilImageCache.clear();
-			anvilZoomCache = zoom;
-		} else {
-			img = anvilImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -166,9 +147,6 @@ public class Anvil extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		anvilImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,10 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Bed extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> footImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> headImageCache = new HashMap<Direction, BufferedImage>();
-	private static double bedZoomCache = -1;
-	
 	private boolean isFoot;
 	
 	/**
@@ -134,30 +129,9 @@ public class Bed extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (bedZoomCache != zoom) {
-			// reset cache
-			footImageCache.clear();
-			headImageCache.clear();
-			bedZoomCache = zoom;
-		} else {
-			if (this.isFoot) {
-				img = footImageCache.get(this.direction);
-			} else {
-				img = headImageCache.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -183,13 +157,6 @@ public class Bed extends DirectionalBlock {
 			img = ImageProvider.rotateImage(angle, img);
 		}
 
-		// save image to cache
-		if (this.isFoot) {
-			footImageCache.put(this.direction, img);
-		} else {
-			headImageCache.put(this.direction, img);
-		}
-		
 		return img;
 	}
 }
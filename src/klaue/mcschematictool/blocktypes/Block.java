@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import javax.swing.JToolTip;
 
@@ -70,10 +69,6 @@ public class Block {
     protected byte data = 0;
     protected Type type = Type.NORMAL;
 
-    // caching of block images
-    protected static HashMap<String, BufferedImage> imageCache = new HashMap<>();
-    protected static double zoomCache = -1;
-
     /**
      * Generates a new air block
      * If you want a block other than air, use Block.getInstance() to ensure the right subtype
@@ -449,32 +444,42 @@ public class Block {
     }
 
     /**
-     * Returns a new BufferedImage representing the block
-     * Warning: Block caches images by ID and ID only. If the block changes looks by data value, make a subclass
+     * Returns a BufferedImage representing the block. The images are cached in the BlockImageCache and shared between all blocks with
+     * the same id, data and image variant, so don't change them<br>
+     * To change the look of a block, overwrite createImage() and, if the look depends on more than the id and data, getImageVariant()
      *
      * @param zoom the current zoom value (>0)
-     * @return the imagecomponent or null if images are deactivated
+     * @return the image or null if images are deactivated
      */
-    public synchronized BufferedImage getImage(double zoom) {
+    public BufferedImage getImage(double zoom) {
         if (!ImageProvider.isActivated()) return null;
         if (zoom <= 0) return null;
 
-        BufferedImage img = null;
-
-        if (Block.zoomCache != zoom) {
-            // reset cache
-            Block.imageCache.clear();
-            Block.zoomCache = zoom;
-        } else {
-            img = Block.imageCache.get(this.id + ":" + this.data);
-            if (img != null) {
-                return img;
-            }
+        long key = BlockImageCache.getKey(this.id, this.data, getImageVariant(), zoom);
+        BufferedImage img = BlockImageCache.get(key);
+        if (img != null) {
+            return img;
         }
 
         // image not in cache, make new
+        img = createImage(zoom);
+        if (img == null) return null;
+
+        // save image to cache
+        BlockImageCache.put(key, img);
+
+        return img;
+    }
+
+    /**
+     * Creates the image of the block, without looking into the cache. Called by getImage() if the image is not cached yet
+     *
+     * @param zoom the current zoom value (>0)
+     * @return the image or null if there is none
+     */
+    protected BufferedImage createImage(double zoom) {
         // get image from imageprovider (directional blocks are handled in subclasses)
-        img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
+        BufferedImage img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 
         if (img == null) return null;
 
@@ -483,12 +488,19 @@ public class Block {
             img = ImageProvider.zoom(zoom, img);
         }
 
-        // save image to cache
-        Block.imageCache.put(this.id + ":" + this.data, img);
-
         return img;
     }
 
+    /**
+     * Gets the variant of the image for blocks whose image depends on more than their id and data, for example a state that is
+     * calculated by the slice. Part of the image cache key
+     *
+     * @return the variant (0-255), 0 if the image only depends on id and data
+     */
+    protected int getImageVariant() {
+        return 0;
+    }
+
     /**
      * Returns a new BlockComponent object representing the block<br>
      * Note that the image will be updated when the block changes
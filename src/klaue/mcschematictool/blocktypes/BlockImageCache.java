@@ -0,0 +1,163 @@
+package klaue.mcschematictool.blocktypes;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The image cache shared by all blocks. Images are cached by block id, data, a variant for blocks whose look depends on more than
+ * their data (like redstone wires) and the zoom, so images of multiple zoom levels stay cached at the same time.<br>
+ * Reads and writes don't lock. The cache is bounded by the memory the images need, if it gets too big, the least recently used
+ * images are removed
+ * @author klaue
+ */
+public class BlockImageCache {
+	private static final int MAX_VARIANT = 0xFF;
+
+	private static ConcurrentHashMap<Long, Entry> cache = new ConcurrentHashMap<Long, Entry>();
+	private static AtomicLong clock = new AtomicLong(); // increased on every put, used as time of last use
+	private static AtomicLong usedBytes = new AtomicLong();
+	private static AtomicBoolean evicting = new AtomicBoolean(false);
+	private static volatile long maxBytes = 128L * 1024 * 1024;
+
+	private BlockImageCache() {
+		// only static methods
+	}
+
+	/**
+	 * Packs the parameters of an image into a cache key
+	 * @param id the block id
+	 * @param data the block data
+	 * @param variant the variant of the image, 0-255
+	 * @param zoom the zoom level
+	 * @return the key
+	 */
+	public static long getKey(short id, byte data, int variant, double zoom) {
+		if (variant < 0 || variant > MAX_VARIANT) throw new IllegalArgumentException("variant out of range: " + variant);
+		return ((long)(id & 0xFFFF) << 48) | ((long)(data & 0xFF) << 40) | ((long)variant << 32)
+				| (Float.floatToIntBits((float)zoom) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Gets the cached image
+	 * @param key the key returned by getKey()
+	 * @return the image or null if it isn't cached
+	 */
+	public static BufferedImage get(long key) {
+		Entry entry = cache.get(key);
+		if (entry == null) return null;
+		entry.lastUse = clock.get(); // reads don't increase the clock, so they don't contend on it
+		return entry.image;
+	}
+
+	/**
+	 * Adds an image to the cache. Don't change the image afterwards, it will be used by multiple blocks
+	 * @param key the key returned by getKey()
+	 * @param image the image
+	 */
+	public static void put(long key, BufferedImage image) {
+		Entry entry = new Entry(image, clock.incrementAndGet());
+		Entry old = cache.put(key, entry);
+		long used = usedBytes.addAndGet(entry.bytes - ((old == null) ? 0 : old.bytes));
+		if (used > maxBytes) {
+			evict();
+		}
+	}
+
+	/**
+	 * Removes all images
+	 */
+	public static void clear() {
+		for (Long key : cache.keySet()) {
+			Entry entry = cache.remove(key);
+			if (entry != null) usedBytes.addAndGet(-entry.bytes);
+		}
+	}
+
+	/**
+	 * Sets the maximum memory the cached images may use. The default is 128 MB
+	 * @param bytes the maximum in bytes
+	 */
+	public static void setMaxBytes(long bytes) {
+		if (bytes <= 0) throw new IllegalArgumentException("maximum has to be positive: " + bytes);
+		maxBytes = bytes;
+		if (usedBytes.get() > maxBytes) {
+			evict();
+		}
+	}
+
+	/**
+	 * @return the memory the cached images use in bytes (approximately)
+	 */
+	public static long getUsedBytes() {
+		return usedBytes.get();
+	}
+
+	/**
+	 * @return the number of cached images
+	 */
+	public static int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Removes the least recently used images until the cache uses three quarters of the maximum. If another thread is already
+	 * evicting, this does nothing
+	 */
+	private static void evict() {
+		if (!evicting.compareAndSet(false, true)) return;
+		try {
+			// take the times of last use first, they would change while sorting
+			List<Candidate> candidates = new ArrayList<Candidate>(cache.size());
+			for (Map.Entry<Long, Entry> e : cache.entrySet()) {
+				candidates.add(new Candidate(e.getKey(), e.getValue()));
+			}
+			Collections.sort(candidates, new Comparator<Candidate>() {
+				@Override
+				public int compare(Candidate o1, Candidate o2) {
+					return Long.compare(o1.lastUse, o2.lastUse);
+				}
+			});
+			
+			long target = maxBytes / 4 * 3;
+			for (Candidate c : candidates) {
+				if (usedBytes.get() <= target) break;
+				if (cache.remove(c.key, c.entry)) {
+					usedBytes.addAndGet(-c.entry.bytes);
+				}
+			}
+		} finally {
+			evicting.set(false);
+		}
+	}
+
+	private static class Entry {
+		final BufferedImage image;
+		final long bytes;
+		volatile long lastUse;
+
+		Entry(BufferedImage image, long lastUse) {
+			this.image = image;
+			this.bytes = 4L * image.getWidth() * image.getHeight();
+			this.lastUse = lastUse;
+		}
+	}
+
+	private static class Candidate {
+		final Long key;
+		final Entry entry;
+		final long lastUse;
+
+		Candidate(Long key, Entry entry) {
+			this.key = key;
+			this.entry = entry;
+			this.lastUse = entry.lastUse;
+		}
+	}
+}
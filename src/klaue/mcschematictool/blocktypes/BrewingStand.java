@@ -4,7 +4,6 @@ import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
 
 import javax.swing.JToolTip;
@@ -21,9 +20,6 @@ import klaue.mcschematictool.itemtypes.Item;
  *
  */
 public class BrewingStand extends MultiDirectionalBlock {
-	private static HashMap<Byte, BufferedImage> brewingStandImageCache = new HashMap<Byte, BufferedImage>();
-	private static double brewingStandZoomCache = -1;
-	
 	/**
 	 * An array of exactly 3 items corresponding to the 3 slots of a brewing stand.
 	 * Empty slots are Items with data = 0
@@ -176,24 +172,9 @@ public class BrewingStand extends MultiDirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (brewingStandZoomCache != zoom) {
-			// reset cache
-			brewingStandImageCache.clear();
-			brewingStandZoomCache = zoom;
-		} else {
-			img = brewingStandImageCache.get(this.data);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -206,9 +187,6 @@ public class BrewingStand extends MultiDirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		brewingStandImageCache.put(this.data, img);
-		
 		return img;
 	}
 
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -21,9 +20,6 @@ public class Button extends DirectionalBlock {
 	public enum ButtonType {/** stone button */ STONE, /** wooden button */ WOOD}
 	
 	
-	private static HashMap<Short, HashMap<Direction, BufferedImage> > buttonImageCache = new HashMap<Short, HashMap<Direction, BufferedImage> >();
-	private static double buttonZoomCache = -1;
-
 	private ButtonType buttonType;
 	private boolean isPressed;
 	
@@ -155,24 +151,9 @@ public class Button extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (buttonZoomCache != zoom) {
-			// reset cache
-			buttonImageCache.clear();
-			buttonZoomCache = zoom;
-		} else {
-			if (buttonImageCache.containsKey(this.id)
-				&& buttonImageCache.get(this.id).containsKey(this.direction)) {
-					return buttonImageCache.get(this.id).get(this.direction);
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -201,15 +182,6 @@ public class Button extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (buttonImageCache.containsKey(this.id)) {
-			buttonImageCache.get(this.id).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = new HashMap<Direction, BufferedImage>();
-			dirMap.put(this.direction, img);
-			buttonImageCache.put(this.id, dirMap);
-		}
-		
 		return img;
 	}
 
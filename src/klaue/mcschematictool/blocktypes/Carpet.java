@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -24,9 +23,6 @@ public class Carpet extends Block {
 		PURPLE, BLUE, BROWN, DARKGREEN, RED, BLACK
 	};
 	
-	private static HashMap<CarpetColor, BufferedImage> carpetImageCache = new HashMap<CarpetColor, BufferedImage>();
-	private static double carpetZoomCache = -1;
-	
 	private CarpetColor color = CarpetColor.WHITE;
 	
 	/**
@@ -120,30 +116,14 @@ public class Carpet extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (carpetZoomCache != zoom) {
-			// reset cache
-			carpetImageCache.clear();
-			carpetZoomCache = zoom;
-		} else {
-			img = carpetImageCache.get(this.color);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
 		if (img == null) return null;
 		
-		
 		// Use the same image for Wool, but put a "C" in the middle to ensure we know it's a carpet.
 		// (template is from stair.java)
 		img = ImageProvider.copyImage(img);
@@ -159,9 +139,6 @@ public class Carpet extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		carpetImageCache.put(this.color, img);
-		
 		return img;
 	}
 }
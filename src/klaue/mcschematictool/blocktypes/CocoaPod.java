@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -26,9 +25,6 @@ public class CocoaPod extends DirectionalBlock {
 		LARGE}
 	
 	
-	private static HashMap<PodSize, HashMap<Direction, BufferedImage> > cocoaPodImageCache = new HashMap<PodSize, HashMap<Direction, BufferedImage> >();
-	private static double cocoaPodZoomCache = -1;
-	
 	private PodSize size;
 	
 	/**
@@ -148,28 +144,9 @@ public class CocoaPod extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (cocoaPodZoomCache != zoom) {
-			// reset cache
-			cocoaPodImageCache.clear();
-			cocoaPodZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = cocoaPodImageCache.get(this.size);
-			if (dirMap != null) {
-				img = dirMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -189,21 +166,11 @@ public class CocoaPod extends DirectionalBlock {
 		
 		img = addArrowToImage(direction, img);
 		
-		
 		// zoom
 		if (zoom != 1) {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (cocoaPodImageCache.containsKey(this.size)) {
-			cocoaPodImageCache.get(this.size).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = new HashMap<Direction, BufferedImage>();
-			dirMap.put(this.direction, img);
-			cocoaPodImageCache.put(this.size, dirMap);
-		}
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -10,9 +9,6 @@ import klaue.mcschematictool.ImageProvider;
  * @author klaue
  */
 public class DetectorRail extends Rail {
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > detectorRailImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static double detectorRailZoomCache = -1;
-	
 	// private RailType railType; from subclass
 	
 	/**
@@ -49,29 +45,9 @@ public class DetectorRail extends Rail {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (detectorRailZoomCache != zoom) {
-			// reset cache
-			detectorRailImageCache.clear();
-			detectorRailZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap = detectorRailImageCache.get(this.railType);
-				
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -102,14 +78,6 @@ public class DetectorRail extends Rail {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (detectorRailImageCache.containsKey(this.railType)) {
-			detectorRailImageCache.get(this.railType).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-			tempMap.put(this.direction, img);
-			detectorRailImageCache.put(this.railType, tempMap);
-		}
 		return img;
 	}
 }
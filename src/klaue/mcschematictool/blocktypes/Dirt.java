@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -18,9 +17,6 @@ public class Dirt extends Block {
 	 */
 	public enum DirtType {	DIRT, COARSE_DIRT, PODZOL	};
 	
-	private static HashMap<DirtType, BufferedImage> dirtImageCache = new HashMap<DirtType, BufferedImage>();
-	private static double dirtZoomCache = -1;
-	
 	private DirtType dirtType = DirtType.DIRT;
 	
 	/**
@@ -88,24 +84,9 @@ public class Dirt extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (dirtZoomCache != zoom) {
-			// reset cache
-			dirtImageCache.clear();
-			dirtZoomCache = zoom;
-		} else {
-			img = dirtImageCache.get(this.dirtType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -116,9 +97,6 @@ public class Dirt extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		dirtImageCache.put(this.dirtType, img);
-		
 		return img;
 	}
 }
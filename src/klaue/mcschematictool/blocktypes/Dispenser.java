@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import javax.swing.JToolTip;
 
@@ -17,9 +16,6 @@ import klaue.mcschematictool.itemtypes.Item;
  *
  */
 public class Dispenser extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> dispenserImageCache = new HashMap<Direction, BufferedImage>();
-	private static double dispenserZoomCache = -1;
-	
 	/**
 	 * An array of exactly 9 items corresponding to the 9 slots of a dispenser.
 	 * Empty slots are Items with data = 0
@@ -162,25 +158,9 @@ public class Dispenser extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (dispenserZoomCache != zoom) {
-			// reset cache
-			dispenserImageCache.clear();
-			dispenserZoomCache = zoom;
-		} else {
-			img = dispenserImageCache.get(this.direction);
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -193,9 +173,6 @@ public class Dispenser extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		dispenserImageCache.put(this.direction, img);
-		
 		return img;
 	}
 	
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,10 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Door extends DirectionalBlock {
-	private static HashMap<DoorType, HashMap<Direction, BufferedImage> > topImageCache = new HashMap<DoorType, HashMap<Direction, BufferedImage> >();
-	private static HashMap<DoorType, HashMap<Direction, BufferedImage> > bottomImageCache = new HashMap<DoorType, HashMap<Direction, BufferedImage> >();
-	private static double doorZoomCache = -1;
-	
 	/**
 	 * The type of the door
 	 * @author klaue
@@ -262,34 +257,9 @@ public class Door extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (doorZoomCache != zoom) {
-			// reset cache
-			bottomImageCache.clear();
-			topImageCache.clear();
-			doorZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap;
-			if (this.isBottomHalf) {
-				directionalMap = bottomImageCache.get(this.doorType);
-			} else {
-				directionalMap = topImageCache.get(this.doorType);
-			}
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -302,24 +272,6 @@ public class Door extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isBottomHalf) {
-			if (bottomImageCache.containsKey(this.doorType)) {
-				bottomImageCache.get(this.doorType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				bottomImageCache.put(this.doorType, tempMap);
-			}
-		} else {
-			if (topImageCache.containsKey(this.doorType)) {
-				topImageCache.get(this.doorType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				topImageCache.put(this.doorType, tempMap);
-			}
-		}
 		return img;
 	}
 }
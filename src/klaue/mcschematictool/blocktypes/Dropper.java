@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 import klaue.mcschematictool.itemtypes.Item;
@@ -12,9 +11,6 @@ import klaue.mcschematictool.itemtypes.Item;
  *
  */
 public class Dropper extends Dispenser {
-	private static HashMap<Direction, BufferedImage> dropperImageCache = new HashMap<Direction, BufferedImage>();
-	private static double dropperZoomCache = -1;
-	
 	/**
 	 * Initializes the dropper. The new dropper will contain exactly 9 items, some or all of which may be zero (empty)
 	 * @param content The dropper content or null for an emty dropper
@@ -27,25 +23,9 @@ public class Dropper extends Dispenser {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (dropperZoomCache != zoom) {
-			// reset cache
-			dropperImageCache.clear();
-			dropperZoomCache = zoom;
-		} else {
-			img = dropperImageCache.get(this.direction);
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -58,9 +38,6 @@ public class Dropper extends Dispenser {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		dropperImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
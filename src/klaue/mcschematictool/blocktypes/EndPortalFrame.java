@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -14,9 +13,6 @@ import klaue.mcschematictool.ImageProvider;
 public class EndPortalFrame extends Block {
 	private boolean isFixed = false;
 	
-	private static HashMap<Boolean, BufferedImage> endPortalFrameImageCache = new HashMap<Boolean, BufferedImage>();
-	private static double endPortalFrameZoomCache = -1;
-	
 	/**
 	 * initializes the end portal frame block
 	 * @param data 0 = closed, 1 = open
@@ -65,24 +61,9 @@ public class EndPortalFrame extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (endPortalFrameZoomCache != zoom) {
-			// reset cache
-			endPortalFrameImageCache.clear();
-			endPortalFrameZoomCache = zoom;
-		} else {
-			img = endPortalFrameImageCache.get(this.isFixed);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -93,8 +74,6 @@ public class EndPortalFrame extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		endPortalFrameImageCache.put(this.isFixed, img);
-
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class EnderChest extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> enderChestImageCache = new HashMap<Direction, BufferedImage>();
-	private static double enderChestZoomCache = -1;
-	
 	/**
 	 * initializes the ender chest
 	 * @param data the direction as a minecraft data value 
@@ -91,25 +87,9 @@ public class EnderChest extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (enderChestZoomCache != zoom) {
-			// reset cache
-			enderChestImageCache.clear();
-			enderChestZoomCache = zoom;
-		} else {
-			img = enderChestImageCache.get(this.direction);
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -122,9 +102,6 @@ public class EnderChest extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		enderChestImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
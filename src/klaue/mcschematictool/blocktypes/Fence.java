@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -22,9 +21,6 @@ public class Fence extends Block {
 		OAK, SPRUCE, BIRCH, JUNGLE, DARK_OAK, ACACIA	
 	}
 
-	private static HashMap<FenceType, BufferedImage> fenceImageCache = new HashMap<FenceType, BufferedImage>();
-	private static double fenceZoomCache = -1;
-	
 	private FenceType fenceType;
 	
 	/**
@@ -117,24 +113,9 @@ public class Fence extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (fenceZoomCache != zoom) {
-			// reset cache
-			fenceImageCache.clear();
-			fenceZoomCache = zoom;
-		} else {
-			img = fenceImageCache.get(this.fenceType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		switch(this.fenceType) {
 			case OAK:		img = ImageProvider.getImageByBlockOrItemID((short)5,	(byte)0);	break;
@@ -162,10 +143,6 @@ public class Fence extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		fenceImageCache.put(this.fenceType, img);
-		
-		
 		return img;
 	}
 }
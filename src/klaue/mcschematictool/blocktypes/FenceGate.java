@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class FenceGate extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> fenceGateImageCache = new HashMap<Direction, BufferedImage>();
-	private static double fenceGateZoomCache = -1;
-	
 	private boolean isOpen = false;
 	
 	/**
@@ -103,24 +99,9 @@ public class FenceGate extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (fenceGateZoomCache != zoom) {
-			// reset cache
-			fenceGateImageCache.clear();
-			fenceGateZoomCache = zoom;
-		} else {
-			img = fenceGateImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -133,9 +114,6 @@ public class FenceGate extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		fenceGateImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
@@ -2,7 +2,6 @@ package klaue.mcschematictool.blocktypes;
 
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -31,9 +30,6 @@ public class FlowerPot extends Block {
 		public String toString() { return (this.name == null) ? super.toString().toLowerCase() : this.name; }
 	};
 	
-	private static HashMap<PottedPlantType, BufferedImage> flowerPotImageCache = new HashMap<PottedPlantType, BufferedImage>();
-	private static double flowerPotZoomCache = -1;
-	
 	private PottedPlantType pottedPlant = PottedPlantType.NONE;
 	
 	/**
@@ -122,24 +118,9 @@ public class FlowerPot extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (flowerPotZoomCache != zoom) {
-			// reset cache
-			flowerPotImageCache.clear();
-			flowerPotZoomCache = zoom;
-		} else {
-			img = flowerPotImageCache.get(this.pottedPlant);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		if (this.pottedPlant == PottedPlantType.NONE) {
 			img = ImageProvider.getItemImage("flowerPot");
@@ -176,9 +157,6 @@ public class FlowerPot extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		flowerPotImageCache.put(this.pottedPlant, img);
-		
 		return img;
 	}
 }
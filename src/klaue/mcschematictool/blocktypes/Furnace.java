@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,10 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Furnace extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> onImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> offImageCache = new HashMap<Direction, BufferedImage>();
-	private static double furnaceZoomCache = -1;
-	
 	private boolean isOn;
 	
 	/**
@@ -140,30 +135,9 @@ public class Furnace extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (furnaceZoomCache != zoom) {
-			// reset cache
-			onImageCache.clear();
-			offImageCache.clear();
-			furnaceZoomCache = zoom;
-		} else {
-			if (this.isOn) {
-				img = onImageCache.get(this.direction);
-			} else {
-				img = offImageCache.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -176,13 +150,6 @@ public class Furnace extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isOn) {
-			onImageCache.put(this.direction, img);
-		} else {
-			offImageCache.put(this.direction, img);
-		}
-		
 		return img;
 	}
 }
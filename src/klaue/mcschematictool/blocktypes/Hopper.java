@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import javax.swing.JToolTip;
 
@@ -17,9 +16,6 @@ import klaue.mcschematictool.itemtypes.Item;
  *
  */
 public class Hopper extends Dispenser {
-	private static HashMap<Direction, BufferedImage> hopperImageCache = new HashMap<Direction, BufferedImage>();
-	private static double hopperZoomCache = -1;
-	
 	/**
 	 * Initializes the hopper. The new hopper will contain exactly 9 items, some or all of which may be zero (empty)
 	 * @param content The hopper content or null for an emty hopper
@@ -54,25 +50,9 @@ public class Hopper extends Dispenser {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (hopperZoomCache != zoom) {
-			// reset cache
-			hopperImageCache.clear();
-			hopperZoomCache = zoom;
-		} else {
-			img = hopperImageCache.get(this.direction);
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -85,9 +65,6 @@ public class Hopper extends Dispenser {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		hopperImageCache.put(this.direction, img);
-		
 		return img;
 	}
 	
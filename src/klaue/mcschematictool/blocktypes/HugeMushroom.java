@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 import java.util.HashSet;
 
 import klaue.mcschematictool.ImageProvider;
@@ -37,9 +36,6 @@ public class HugeMushroom extends MultiDirectionalBlock {
 	};
 	
 	// Byte = direction bitmap, see getImage()
-	private static HashMap<HugeMushroomType, HashMap<HugeMushroomBlockType, HashMap<Byte, BufferedImage> > > hugeMushroomImageCache =
-		new HashMap<HugeMushroomType, HashMap<HugeMushroomBlockType, HashMap<Byte, BufferedImage> > >();
-	private static double hugeMushroomZoomCache = -1;
 
 	private HugeMushroomBlockType blockType = HugeMushroomBlockType.FLESH;
 	private HugeMushroomType mushroomType = HugeMushroomType.BROWN;
@@ -257,10 +253,7 @@ public class HugeMushroom extends MultiDirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
 		byte directionBitmap = 0;
@@ -279,22 +272,6 @@ public class HugeMushroom extends MultiDirectionalBlock {
 			}
 		}
 		
-		if (hugeMushroomZoomCache != zoom) {
-			// reset cache
-			hugeMushroomImageCache.clear();
-			hugeMushroomZoomCache = zoom;
-		} else {
-			try {
-				img = hugeMushroomImageCache.get(this.mushroomType).get(this.blockType).get(directionBitmap);
-				if (img != null) {
-					return img;
-				}
-			} catch (NullPointerException e) {
-				// to be expected if not in cache, ignore 
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -307,34 +284,6 @@ public class HugeMushroom extends MultiDirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		// if stem or flesh, save to all mushroom types as they always look the same
-		HugeMushroomType[] typesToCache;
-		if (this.blockType == HugeMushroomBlockType.FLESH || this.blockType == HugeMushroomBlockType.STEM) {
-			typesToCache = HugeMushroomType.values();
-		} else {
-			typesToCache = new HugeMushroomType[1];
-			typesToCache[0] = this.mushroomType;
-		}
-		for (HugeMushroomType type : typesToCache) {
-			// map is: map<type, map<blocktype, map<direction bitmap, image> > >
-			if (!hugeMushroomImageCache.containsKey(type)) {
-				HashMap<HugeMushroomBlockType, HashMap<Byte, BufferedImage> > outerTempMap = new HashMap<HugeMushroomBlockType, HashMap<Byte, BufferedImage> >();
-				HashMap<Byte, BufferedImage> innerTempMap = new HashMap<Byte, BufferedImage>();
-				innerTempMap.put(directionBitmap, img);
-				outerTempMap.put(this.blockType, innerTempMap);
-				hugeMushroomImageCache.put(type, outerTempMap);
-			} else {
-				if (hugeMushroomImageCache.get(type).containsKey(this.blockType)) {
-					hugeMushroomImageCache.get(type).get(this.blockType).put(directionBitmap, img);
-				} else {
-					HashMap<Byte, BufferedImage> innerTempMap = new HashMap<Byte, BufferedImage>();
-					innerTempMap.put(directionBitmap, img);
-					hugeMushroomImageCache.get(type).put(this.blockType, innerTempMap);
-				}
-			}
-		}
-		
 		return img;
 	}
 }
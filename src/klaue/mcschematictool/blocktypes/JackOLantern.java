@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class JackOLantern extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> jackImageCache = new HashMap<Direction, BufferedImage>();
-	private static double jackZoomCache = -1;
-	
 	/**
 	 * initializes the jack'o'lantern
 	 * @param direction the direction as a minecraft data value 
@@ -91,24 +87,9 @@ public class JackOLantern extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (jackZoomCache != zoom) {
-			// reset cache
-			jackImageCache.clear();
-			jackZoomCache = zoom;
-		} else {
-			img = jackImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -121,9 +102,6 @@ public class JackOLantern extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		jackImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
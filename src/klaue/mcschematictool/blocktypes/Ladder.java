@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Ladder extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> ladderImageCache = new HashMap<Direction, BufferedImage>();
-	private static double ladderZoomCache = -1;
-	
 	/**
 	 * initializes the ladder
 	 * @param direction the direction as a minecraft data value 
@@ -91,24 +87,9 @@ public class Ladder extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (ladderZoomCache != zoom) {
-			// reset cache
-			ladderImageCache.clear();
-			ladderZoomCache = zoom;
-		} else {
-			img = ladderImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -133,9 +114,6 @@ public class Ladder extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		ladderImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
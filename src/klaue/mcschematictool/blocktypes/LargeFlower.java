@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -23,9 +22,6 @@ public class LargeFlower extends Block {
 
 	};
 	
-	private static HashMap<BlockType, BufferedImage> blockImageCache = new HashMap<BlockType, BufferedImage>();
-	private static double blockZoomCache = -1;
-	
 	private BlockType flowerType = BlockType.SUNFLOWER;
 	private boolean isBottomHalf;
 	
@@ -129,38 +125,19 @@ public class LargeFlower extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (blockZoomCache != zoom) {
-			// reset cache
-			blockImageCache.clear();
-			blockZoomCache = zoom;
-		} else {
-			img = blockImageCache.get(this.flowerType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
 		if (img == null) return null;
 		
-		
 		// zoom
 		if (zoom != 1) {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		blockImageCache.put(this.flowerType, img);
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -26,11 +25,6 @@ import klaue.mcschematictool.ImageProvider;
  */
 
 public class Lever extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> onGroundImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> onCeilingImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> onWallImageCache = new HashMap<Direction, BufferedImage>();
-	private static double leverZoomCache = -1;
-	
 	private boolean isThrown;
 	private boolean isOnGround;
 	private boolean isOnCeiling;
@@ -249,32 +243,9 @@ public class Lever extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (leverZoomCache != zoom) {
-			// reset cache
-			onGroundImageCache.clear();
-			onCeilingImageCache.clear();
-			onWallImageCache.clear();
-			leverZoomCache = zoom;
-		} else {
-			if (this.isOnGround) {
-				img = onGroundImageCache.get(this.direction);
-			} else if (this.isOnCeiling) {
-				img = onCeilingImageCache.get(this.direction);
-			} else {
-				img = onWallImageCache.get(this.direction);
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -308,15 +279,6 @@ public class Lever extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isOnGround) {
-			onGroundImageCache.put(this.direction, img);
-		} else if (this.isOnCeiling) {
-			onCeilingImageCache.put(this.direction, img);
-		} else {
-			onWallImageCache.put(this.direction, img);
-		}
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -25,9 +24,6 @@ public class MobHead extends DirectionalBlock {
 		public String toString() { return this.name; }
 	};
 	
-	private static HashMap<HeadType, HashMap<Direction, BufferedImage> > mobHeadImageCache = new HashMap<HeadType, HashMap<Direction, BufferedImage> >();
-	private static double mobHeadZoomCache = -1;
-	
 	private boolean isWallMounted = false;
 	private String name = "";
 	private HeadType headType = HeadType.HUMAN;
@@ -333,38 +329,34 @@ public class MobHead extends DirectionalBlock {
 		}
 	}
 	
-	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
-		BufferedImage img = null;
-		Direction dirForCache = this.direction;
-		if (this.isWallMounted) {
-			// change direction to where it's mounted on instead where it's facing (e.g. opposite direction)
-			switch(this.direction) {
-				case E:		dirForCache = Direction.W;	break;
-				case S:		dirForCache = Direction.N;	break;
-				case W:		dirForCache = Direction.E;	break;
-				case N:
-				default:	dirForCache = Direction.S;	break;
-			}
-		}
+	/**
+	 * Gets the direction the arrow in the image points to
+	 * @return the direction
+	 */
+	private Direction getImageDirection() {
+		if (!this.isWallMounted) return this.direction;
 		
-		if (mobHeadZoomCache != zoom) {
-			// reset cache
-			mobHeadImageCache.clear();
-			mobHeadZoomCache = zoom;
-		} else {
-			if (mobHeadImageCache.containsKey(this.headType) && mobHeadImageCache.get(this.headType).containsKey(dirForCache)) {
-				img = mobHeadImageCache.get(this.headType).get(dirForCache);
-			}
-			if (img != null) {
-				return img;
-			}
+		// change direction to where it's mounted on instead where it's facing (e.g. opposite direction)
+		switch(this.direction) {
+			case E:		return Direction.W;
+			case S:		return Direction.N;
+			case W:		return Direction.E;
+			case N:
+			default:	return Direction.S;
 		}
+	}
+	
+	@Override
+	protected int getImageVariant() {
+		// type and direction come from the tile entity, not from the data
+		return (this.headType.ordinal() << 5) | getImageDirection().ordinal();
+	}
+	
+	@Override
+	protected BufferedImage createImage(double zoom) {
+		BufferedImage img = null;
+		Direction dirForCache = getImageDirection();
 		
-		// image not in cache, make new
 		// get image from imageprovider
 		switch (this.headType) {
 			case SKELETON:			img = ImageProvider.getItemImage("skull_skeleton");	break;
@@ -383,15 +375,6 @@ public class MobHead extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (mobHeadImageCache.containsKey(this.headType)) {
-			mobHeadImageCache.get(this.headType).put(dirForCache, img);
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = new HashMap<Direction, BufferedImage>();
-			dirMap.put(dirForCache, img);
-			mobHeadImageCache.put(this.headType, dirMap);
-		}
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,9 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Piston extends DirectionalBlock {
-	private static HashMap<PistonType, HashMap<Direction, BufferedImage> > pistonImageCache = new HashMap<PistonType, HashMap<Direction, BufferedImage> >();
-	private static double pistonZoomCache = -1;
-	
 	/**
 	 * The type of the piston
 	 * @author klaue
@@ -201,28 +197,9 @@ public class Piston extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (pistonZoomCache != zoom) {
-			// reset cache
-			pistonImageCache.clear();
-			pistonZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap = pistonImageCache.get(this.pistonType);
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -248,14 +225,6 @@ public class Piston extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (pistonImageCache.containsKey(this.pistonType)) {
-			pistonImageCache.get(this.pistonType).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-			tempMap.put(this.direction, img);
-			pistonImageCache.put(this.pistonType, tempMap);
-		}
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,9 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class PistonExtension extends DirectionalBlock {
-	private static HashMap<PistonExtensionType, HashMap<Direction, BufferedImage> > pistonExtensionImageCache = new HashMap<PistonExtensionType, HashMap<Direction, BufferedImage> >();
-	private static double pistonExtensionZoomCache = -1;
-	
 	/**
 	 * The type of the piston extension
 	 * @author klaue
@@ -149,28 +145,9 @@ public class PistonExtension extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (pistonExtensionZoomCache != zoom) {
-			// reset cache
-			pistonExtensionImageCache.clear();
-			pistonExtensionZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap = pistonExtensionImageCache.get(this.pistonExtensionType);
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -196,14 +173,6 @@ public class PistonExtension extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (pistonExtensionImageCache.containsKey(this.pistonExtensionType)) {
-			pistonExtensionImageCache.get(this.pistonExtensionType).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-			tempMap.put(this.direction, img);
-			pistonExtensionImageCache.put(this.pistonExtensionType, tempMap);
-		}
 		return img;
 	}
 }
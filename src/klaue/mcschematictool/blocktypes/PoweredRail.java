@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -10,10 +9,6 @@ import klaue.mcschematictool.ImageProvider;
  * @author klaue
  */
 public class PoweredRail extends Rail {
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > onPoweredRailImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > offPoweredRailImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static double poweredRailZoomCache = -1;
-	
 	// private RailType railType; from subclass
 	protected boolean isOn;
 	
@@ -94,35 +89,9 @@ public class PoweredRail extends Rail {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (poweredRailZoomCache != zoom) {
-			// reset cache
-			onPoweredRailImageCache.clear();
-			offPoweredRailImageCache.clear();
-			poweredRailZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap;
-			if (this.isOn) {
-				directionalMap = onPoweredRailImageCache.get(this.railType);
-			} else {
-				directionalMap = offPoweredRailImageCache.get(this.railType);
-			}
-				
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -153,24 +122,6 @@ public class PoweredRail extends Rail {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isOn) {
-			if (onPoweredRailImageCache.containsKey(this.railType)) {
-				onPoweredRailImageCache.get(this.railType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				onPoweredRailImageCache.put(this.railType, tempMap);
-			}
-		} else {
-			if (offPoweredRailImageCache.containsKey(this.railType)) {
-				offPoweredRailImageCache.get(this.railType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				offPoweredRailImageCache.put(this.railType, tempMap);
-			}
-		}
 		return img;
 	}
 
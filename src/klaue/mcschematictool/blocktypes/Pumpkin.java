@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Pumpkin extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> pumpkinImageCache = new HashMap<Direction, BufferedImage>();
-	private static double pumpkinZoomCache = -1;
-	
 	/**
 	 * initializes the pumpkin
 	 * @param direction the direction as a minecraft data value 
@@ -91,24 +87,9 @@ public class Pumpkin extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (pumpkinZoomCache != zoom) {
-			// reset cache
-			pumpkinImageCache.clear();
-			pumpkinZoomCache = zoom;
-		} else {
-			img = pumpkinImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -121,9 +102,6 @@ public class Pumpkin extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		pumpkinImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
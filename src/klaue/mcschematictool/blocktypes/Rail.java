@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -25,9 +24,6 @@ public class Rail extends DirectionalBlock {
 		public String toString() { return super.toString().toLowerCase();}
 	};
 	
-	private static HashMap<RailType, HashMap<Direction, BufferedImage> > railImageCache = new HashMap<RailType, HashMap<Direction, BufferedImage> >();
-	private static double railZoomCache = -1;
-	
 	protected RailType railType;
 	
 	/**
@@ -223,29 +219,9 @@ public class Rail extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (railZoomCache != zoom) {
-			// reset cache
-			railImageCache.clear();
-			railZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> directionalMap = railImageCache.get(this.railType);
-				
-			if (directionalMap != null) {
-				img = directionalMap.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -287,14 +263,6 @@ public class Rail extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (railImageCache.containsKey(this.railType)) {
-			railImageCache.get(this.railType).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-			tempMap.put(this.direction, img);
-			railImageCache.put(this.railType, tempMap);
-		}
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -22,9 +21,6 @@ public class RedSandStone extends Block {
 			/** Red Smooth sandstone block */ SMOOTH}
 	
 
-	private static HashMap<BlockType, BufferedImage> blockImageCache = new HashMap<BlockType, BufferedImage>();
-	private static double blockZoomCache = -1;
-	
 	private BlockType blockType = BlockType.NORMAL;
 	
 	/**
@@ -79,24 +75,9 @@ public class RedSandStone extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (blockZoomCache != zoom) {
-			// reset cache
-			blockImageCache.clear();
-			blockZoomCache = zoom;
-		} else {
-			img = blockImageCache.get(this.blockType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -107,9 +88,6 @@ public class RedSandStone extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		blockImageCache.put(this.blockType, img);
-
 		return img;
 	}
 }
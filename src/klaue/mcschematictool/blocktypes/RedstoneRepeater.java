@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,10 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class RedstoneRepeater extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> onImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> offImageCache = new HashMap<Direction, BufferedImage>();
-	private static double repeaterZoomCache = -1;
-	
 	private byte delay;
 	private boolean isOn;
 	
@@ -147,30 +142,9 @@ public class RedstoneRepeater extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (repeaterZoomCache != zoom) {
-			// reset cache
-			onImageCache.clear();
-			offImageCache.clear();
-			repeaterZoomCache = zoom;
-		} else {
-			if (this.isOn) {
-				img = onImageCache.get(this.direction);
-			} else {
-				img = offImageCache.get(this.direction);
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -190,19 +164,11 @@ public class RedstoneRepeater extends DirectionalBlock {
 		
 		img = ImageProvider.rotateImage(angle, img);
 		
-		
 		// zoom
 		if (zoom != 1) {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isOn) {
-			onImageCache.put(this.direction, img);
-		} else {
-			offImageCache.put(this.direction, img);
-		}
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 import klaue.mcschematictool.NameProvider;
@@ -13,9 +12,6 @@ import klaue.mcschematictool.NameProvider;
  *
  */
 public class RedstoneTorch extends Torch {
-	private static HashMap<Boolean, HashMap<Direction, BufferedImage> > rtorchImageCache = new HashMap<Boolean, HashMap<Direction, BufferedImage> >();
-	private static double rtorchZoomCache = -1;
-	
 	private boolean isOn = true;
 
 	/**
@@ -86,27 +82,9 @@ public class RedstoneTorch extends Torch {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (rtorchZoomCache != zoom) {
-			// reset cache
-			rtorchImageCache.clear();
-			rtorchZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> tempMap = rtorchImageCache.get(this.isOn);
-			if (tempMap != null) {
-				img = tempMap.get(this.direction);
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -137,12 +115,6 @@ public class RedstoneTorch extends Torch {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (!rtorchImageCache.containsKey(this.isOn)) {
-			rtorchImageCache.put(this.isOn, new HashMap<Direction, BufferedImage>());
-		}
-		rtorchImageCache.get(this.isOn).put(this.direction, img);
-		
 		return img;
 	}
 }
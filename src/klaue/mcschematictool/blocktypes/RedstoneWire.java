@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 import klaue.mcschematictool.blocktypes.DirectionalBlock.Direction;
@@ -13,11 +12,7 @@ import klaue.mcschematictool.blocktypes.DirectionalBlock.Direction;
  * @author klaue
  */
 public class RedstoneWire extends Block {
-	// special hashmap because the orientation of rs-wires can only be calculated in Slice
-	// first booelan is on (true), second is line (true) or "cross" (false). when not called by Slice, line defaults to false and direction to NONE
-	private static HashMap<Boolean, HashMap<Boolean, HashMap<Direction, BufferedImage> > > directionalWireImageCache = 
-		new HashMap<Boolean, HashMap<Boolean, HashMap<Direction, BufferedImage> > >();
-	private static double wireZoomCache = -1;
+	// the orientation of rs-wires can only be calculated in Slice. when not called by Slice, line defaults to false and direction to NONE
 	
 	private boolean isLine = false;
 	private Direction typeDir = Direction.NONE; // the type of the wire, see javadoc of setWireType 
@@ -64,30 +59,15 @@ public class RedstoneWire extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected int getImageVariant() {
+		// the wire type is calculated by the slice and not part of the data
+		return (this.isLine ? 0x20 : 0) | this.typeDir.ordinal();
+	}
+	
+	@Override
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (wireZoomCache != zoom) {
-			// reset cache
-			directionalWireImageCache.clear();
-			wireZoomCache = zoom;
-		} else {
-			HashMap<Boolean, HashMap<Direction,BufferedImage> > tempOnMap = directionalWireImageCache.get(this.data != 0);
-			if (tempOnMap != null) {
-				HashMap<Direction, BufferedImage> tempLineMap = tempOnMap.get(this.isLine);
-				if (tempLineMap != null) {
-					img = tempLineMap.get(this.typeDir);
-				}
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		if (!this.isLine) {
 			img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
@@ -139,18 +119,23 @@ public class RedstoneWire extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (!directionalWireImageCache.containsKey(this.data != 0)) {
-			directionalWireImageCache.put((this.data != 0), new HashMap<Boolean, HashMap<Direction,BufferedImage> >());
-		}
-		if (!directionalWireImageCache.get(this.data != 0).containsKey(this.isLine)) {
-			directionalWireImageCache.get(this.data != 0).put(this.isLine, new HashMap<Direction,BufferedImage>());
-		}
-		directionalWireImageCache.get(this.data != 0).get(this.isLine).put(this.typeDir, img);
-		
 		return img;
 	}
 
+	/**
+	 * @return true if the wire is a line, see setWireType()
+	 */
+	public boolean isLine() {
+		return this.isLine;
+	}
+	
+	/**
+	 * @return the direction of the type of the wire, see setWireType()
+	 */
+	public Direction getWireDirection() {
+		return this.typeDir;
+	}
+	
 	/**
 	 * Sets the type of the wire. Since the direction of a redstone wire is not saved into the block data,
 	 * this should be called once the wires neighbors are known, see param direction
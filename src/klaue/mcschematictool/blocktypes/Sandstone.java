@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -19,9 +18,6 @@ public class Sandstone extends Block {
 						/** Smooth sandstone block */ SMOOTH}
 	
 
-	private static HashMap<SandstoneType, BufferedImage> sandstoneImageCache = new HashMap<SandstoneType, BufferedImage>();
-	private static double sandstoneZoomCache = -1;
-	
 	private SandstoneType sandstoneType = SandstoneType.NORMAL;
 	
 	/**
@@ -76,24 +72,9 @@ public class Sandstone extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (sandstoneZoomCache != zoom) {
-			// reset cache
-			sandstoneImageCache.clear();
-			sandstoneZoomCache = zoom;
-		} else {
-			img = sandstoneImageCache.get(this.sandstoneType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -104,9 +85,6 @@ public class Sandstone extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		sandstoneImageCache.put(this.sandstoneType, img);
-
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -16,9 +15,6 @@ import klaue.mcschematictool.ImageProvider;
  *  Will have to fix later.  Just going to add support for Acacia and Dark Oak TreeTypes.
  */
 public class Sapling extends Block {
-	private static HashMap<TreeType, BufferedImage> saplingImageCache = new HashMap<TreeType, BufferedImage>();
-	private static double saplingZoomCache = -1;
-	
 	private TreeType treeType = TreeType.OAK;
 	private byte growth;
 	
@@ -113,24 +109,9 @@ public class Sapling extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (saplingZoomCache != zoom) {
-			// reset cache
-			saplingImageCache.clear();
-			saplingZoomCache = zoom;
-		} else {
-			img = saplingImageCache.get(this.treeType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -141,9 +122,6 @@ public class Sapling extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		saplingImageCache.put(this.treeType, img);
-		
 		return img;
 	}
 }
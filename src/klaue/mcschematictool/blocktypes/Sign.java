@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.util.Arrays;
-import java.util.HashMap;
 
 import javax.swing.JToolTip;
 
@@ -16,10 +15,6 @@ import klaue.mcschematictool.ImageToolTip;
  *
  */
 public class Sign extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> wallsignImageCache = new HashMap<Direction, BufferedImage>();
-	private static HashMap<Direction, BufferedImage> signImageCache = new HashMap<Direction, BufferedImage>();
-	private static double signZoomCache = -1;
-	
 	/**
 	 * An array of exactly 4 Strings corresponding to the 4 lines of text of the sign
 	 */
@@ -277,29 +272,9 @@ public class Sign extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (signZoomCache != zoom) {
-			// reset cache
-			signImageCache.clear();
-			wallsignImageCache.clear();
-			signZoomCache = zoom;
-		} else {
-			if (this.isWallSign) {
-				img = wallsignImageCache.get(this.direction);
-			} else {
-				img = signImageCache.get(this.direction);
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -327,13 +302,6 @@ public class Sign extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isWallSign) {
-			wallsignImageCache.put(this.direction, img);
-		} else {
-			signImageCache.put(this.direction, img);
-		}
-		
 		return img;
 	}
 	
@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -14,9 +13,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class SnowCover extends DataImageCacheBlock {
-	private static HashMap<Byte, BufferedImage> snowCoverImageCache = new HashMap<Byte, BufferedImage>();
-	private static double snowCoverZoomCache = -1;
-	
 	/**
 	 * initializes the snow cover
 	 * @param height 0-7
@@ -64,10 +60,7 @@ public class SnowCover extends DataImageCacheBlock {
 	 * @return the imagecomponent or null if images are deactivated
 	 */
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
 		// since the various stages of snowfall would be too small to notice, we combine that to 3 levels: 1 third snow, two thirds snow, full
@@ -84,15 +77,6 @@ public class SnowCover extends DataImageCacheBlock {
 			default:	cutOffPixels = 0;	break;
 		}*/
 		
-		if (snowCoverZoomCache != zoom) {
-			// reset cache
-			snowCoverImageCache.clear();
-			snowCoverZoomCache = zoom;
-		} if (snowCoverImageCache.containsKey(this.data)) {
-			return snowCoverImageCache.get(this.data);
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider (directional blocks are handled in subclasses)
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		if (img == null) return null;
@@ -118,15 +102,11 @@ public class SnowCover extends DataImageCacheBlock {
 			g.clearRect(0, 0, 16, cutOffPixels);
 		}
 		
-		
 		// zoom
 		if (zoom != 1) {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		snowCoverImageCache.put(this.data, img);
-		
 		return img;
 	}
 }
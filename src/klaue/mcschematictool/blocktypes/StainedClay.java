@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -22,9 +21,6 @@ public class StainedClay extends Block {
 		PURPLE, BLUE, BROWN, DARKGREEN, RED, BLACK
 	};
 	
-	private static HashMap<BlockColor, BufferedImage> blockImageCache = new HashMap<BlockColor, BufferedImage>();
-	private static double blockZoomCache = -1;
-	
 	private BlockColor color = BlockColor.WHITE;
 	
 	/**
@@ -118,24 +114,9 @@ public class StainedClay extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (blockZoomCache != zoom) {
-			// reset cache
-			blockImageCache.clear();
-			blockZoomCache = zoom;
-		} else {
-			img = blockImageCache.get(this.color);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -146,9 +127,6 @@ public class StainedClay extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		blockImageCache.put(this.color, img);
-		
 		return img;
 	}
 }
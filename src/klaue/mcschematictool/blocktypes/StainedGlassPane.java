@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -23,9 +22,6 @@ public class StainedGlassPane extends Block {
 		GRAY, LIGHT_GRAY, CYAN, PURPLE, BLUE, BROWN, GREEN, RED, BLACK
 	}
 
-	private static HashMap<PaneColor, BufferedImage> blockImageCache = new HashMap<PaneColor, BufferedImage>();
-	private static double blockZoomCache = -1;
-	
 	private PaneColor paneColor;
 	
 	/**
@@ -106,24 +102,9 @@ public class StainedGlassPane extends Block {
 	}
 
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (blockZoomCache != zoom) {
-			// reset cache
-			blockImageCache.clear();
-			blockZoomCache = zoom;
-		} else {
-			img = blockImageCache.get(this.paneColor);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -134,10 +115,6 @@ public class StainedGlassPane extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		blockImageCache.put(this.paneColor, img);
-		
-		
 		return img;
 	}
 }
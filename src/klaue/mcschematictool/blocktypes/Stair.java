@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -35,10 +34,6 @@ public class Stair extends DirectionalBlock {
 		PURPUR
 	}
 
-	private static HashMap<StairType, HashMap<Direction, BufferedImage> > normalStairImageCache = new HashMap<StairType, HashMap<Direction, BufferedImage> >();
-	private static HashMap<StairType, HashMap<Direction, BufferedImage> > invertedStairImageCache = new HashMap<StairType, HashMap<Direction, BufferedImage> >();
-	private static double stairZoomCache = -1;
-	
 	private StairType stairType;
 	private boolean isUpsideDown = false;
 	
@@ -162,10 +157,7 @@ public class Stair extends DirectionalBlock {
 			default: throw new IllegalArgumentException("illegal directional state for stairs: " + data);
 		}
 		
-		if ((data & 0x4) > 0) {
-			this.isUpsideDown = true;
-		}
-		
+		this.isUpsideDown = (data & 0x4) > 0;
 		this.data = data;
 	}
 
@@ -197,7 +189,7 @@ public class Stair extends DirectionalBlock {
 	 */
 	public void setUpsideDown(boolean isUpsideDown) {
 		if (this.isUpsideDown != isUpsideDown) {
-			if (this.isUpsideDown) {
+			if (isUpsideDown) {
 				this.data = (byte)(this.data | 4);
 			} else {
 				this.data = (byte)(this.data & 3); // 011
@@ -229,6 +221,9 @@ public class Stair extends DirectionalBlock {
 					throw new AssertionError(this.direction);
 			}
 		}
+		if (this.isUpsideDown) {
+			this.data = (byte)(this.data | 0x4);
+		}
 	}
 	
 	@Override
@@ -238,36 +233,9 @@ public class Stair extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (stairZoomCache != zoom) {
-			// reset cache
-			normalStairImageCache.clear();
-			invertedStairImageCache.clear();
-			stairZoomCache = zoom;
-		} else {
-			if (this.isUpsideDown) {
-				HashMap<Direction, BufferedImage> directionalMap = invertedStairImageCache.get(this.stairType);
-				if (directionalMap != null) {
-					img = directionalMap.get(this.direction);
-				}
-			} else {
-				HashMap<Direction, BufferedImage> directionalMap = normalStairImageCache.get(this.stairType);
-				if (directionalMap != null) {
-					img = directionalMap.get(this.direction);
-				}
-			}
-			
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		switch(this.stairType) {
 			case COBBLESTONE:	img = ImageProvider.getImageByBlockOrItemID((short)4);				break;
@@ -324,25 +292,6 @@ public class Stair extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isUpsideDown) {
-			if (invertedStairImageCache.containsKey(this.stairType)) {
-				invertedStairImageCache.get(this.stairType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				invertedStairImageCache.put(this.stairType, tempMap);
-			}
-		} else {
-			if (normalStairImageCache.containsKey(this.stairType)) {
-				normalStairImageCache.get(this.stairType).put(this.direction, img);
-			} else {
-				HashMap<Direction, BufferedImage> tempMap = new HashMap<Direction, BufferedImage>();
-				tempMap.put(this.direction, img);
-				normalStairImageCache.put(this.stairType, tempMap);
-			}
-		}
-		
 		return img;
 	}
 }
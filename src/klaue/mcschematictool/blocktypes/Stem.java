@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -21,9 +20,6 @@ public class Stem extends Block {
 		/** Melon stem */	MELON
 	};
 	
-	private static HashMap<StemType, BufferedImage> stemImageCache = new HashMap<StemType, BufferedImage>();
-	private static double stemZoomCache = -1;
-	
 	private StemType stemType = StemType.PUMPKIN;
 	
 	/**
@@ -100,24 +96,9 @@ public class Stem extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (stemZoomCache != zoom) {
-			// reset cache
-			stemImageCache.clear();
-			stemZoomCache = zoom;
-		} else {
-			img = stemImageCache.get(this.stemType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -128,9 +109,6 @@ public class Stem extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		stemImageCache.put(this.stemType, img);
-		
 		return img;
 	}
 }
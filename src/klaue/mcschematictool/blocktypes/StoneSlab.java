@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -26,11 +25,6 @@ public class StoneSlab extends Block {
 						/** tile quartz */ TILEQUARTZ, PURPUR}
 	
 
-	private static HashMap<SlabType, BufferedImage> lowerSlabImageCache = new HashMap<SlabType, BufferedImage>();
-	private static HashMap<SlabType, BufferedImage> upperSlabImageCache = new HashMap<SlabType, BufferedImage>();
-	private static HashMap<SlabType, BufferedImage> doubleslabImageCache = new HashMap<SlabType, BufferedImage>();
-	private static double slabZoomCache = -1;
-	
 	private SlabType slabType;
 	private boolean isDoubleSlab;
 	private boolean isUpperHalf;
@@ -204,34 +198,9 @@ public class StoneSlab extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (slabZoomCache != zoom) {
-			// reset cache
-			lowerSlabImageCache.clear();
-			upperSlabImageCache.clear();
-			doubleslabImageCache.clear();
-			slabZoomCache = zoom;
-		} else {
-			if (this.isDoubleSlab) {
-				img = doubleslabImageCache.get(this.slabType);
-			} else {
-				if (this.isUpperHalf) {
-					img = upperSlabImageCache.get(this.slabType);
-				} else {
-					img = lowerSlabImageCache.get(this.slabType);
-				}
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		switch(this.slabType) {
 			case COBBLESTONE:		img = ImageProvider.getImageByBlockOrItemID((short)4);				break;
@@ -276,17 +245,6 @@ public class StoneSlab extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isDoubleSlab) {
-			doubleslabImageCache.put(this.slabType, img);
-		} else {
-			if (this.isUpperHalf) {
-				upperSlabImageCache.put(this.slabType, img);
-			} else {
-				lowerSlabImageCache.put(this.slabType, img);
-			}
-		}
-
 		return img;
 	}
 }
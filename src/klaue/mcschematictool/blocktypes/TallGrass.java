@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -20,9 +19,6 @@ public class TallGrass extends Block {
 		/** Dead shrub */ DEAD_SHRUB, /** Normal tall grass */ TALL_GRASS, /** Fern */ FERN
 	};
 	
-	private static HashMap<GrassType, BufferedImage> tgrassImageCache = new HashMap<GrassType, BufferedImage>();
-	private static double tgrassZoomCache = -1;
-	
 	private GrassType grassType = GrassType.TALL_GRASS;
 	
 	/**
@@ -83,24 +79,9 @@ public class TallGrass extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (tgrassZoomCache != zoom) {
-			// reset cache
-			tgrassImageCache.clear();
-			tgrassZoomCache = zoom;
-		} else {
-			img = tgrassImageCache.get(this.grassType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -111,9 +92,6 @@ public class TallGrass extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		tgrassImageCache.put(this.grassType, img);
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -12,9 +11,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class Torch extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> torchImageCache = new HashMap<Direction, BufferedImage>();
-	private static double torchZoomCache = -1;
-	
 	/**
 	 * initializes the torch
 	 * @param direction the direction as a minecraft data value 
@@ -103,24 +99,9 @@ public class Torch extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (torchZoomCache != zoom) {
-			// reset cache
-			torchImageCache.clear();
-			torchZoomCache = zoom;
-		} else {
-			img = torchImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -151,9 +132,6 @@ public class Torch extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		torchImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -25,9 +24,6 @@ import klaue.mcschematictool.ImageProvider;
  * 	NEW - 	0x8 bit	- 1 if Placed on top half of block or 0 if bottom half of block
  */
 public class TrapDoor extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> tdoorImageCache = new HashMap<Direction, BufferedImage>();
-	private static double tdoorZoomCache = -1;
-	
 	private boolean isOpen;
 	private boolean isTopHalf;		//1 if placed on top half of block, 0 if bottom
 	
@@ -162,24 +158,9 @@ public class TrapDoor extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (tdoorZoomCache != zoom) {
-			// reset cache
-			tdoorImageCache.clear();
-			tdoorZoomCache = zoom;
-		} else {
-			img = tdoorImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -192,8 +173,6 @@ public class TrapDoor extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		tdoorImageCache.put(this.direction, img);
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -13,9 +12,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class TripwireHook extends DirectionalBlock {
-	private static HashMap<Direction, BufferedImage> wireHookImageCache = new HashMap<Direction, BufferedImage>();
-	private static double leverZoomCache = -1;
-	
 	private boolean isConnected;
 	private boolean isActivated;
 	
@@ -161,24 +157,9 @@ public class TripwireHook extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (leverZoomCache != zoom) {
-			// reset cache
-			wireHookImageCache.clear();
-			leverZoomCache = zoom;
-		} else {
-			img = wireHookImageCache.get(this.direction);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -203,9 +184,6 @@ public class TripwireHook extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		wireHookImageCache.put(this.direction, img);
-		
 		return img;
 	}
 }
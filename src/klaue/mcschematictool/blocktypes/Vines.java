@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 import java.util.HashSet;
 
 import klaue.mcschematictool.ImageProvider;
@@ -14,9 +13,6 @@ import klaue.mcschematictool.blocktypes.DirectionalBlock.Direction;
  *
  */
 public class Vines extends MultiDirectionalBlock {
-	private static HashMap<Byte, BufferedImage> vineImageCache = new HashMap<Byte, BufferedImage>();
-	private static double vineZoomCache = -1;
-	
 	/**
 	 * initializes the vine
 	 * @param direction the direction(s) as a minecraft data value 
@@ -114,24 +110,9 @@ public class Vines extends MultiDirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (vineZoomCache != zoom) {
-			// reset cache
-			vineImageCache.clear();
-			vineZoomCache = zoom;
-		} else {
-			img = vineImageCache.get(this.data);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id);
 		
@@ -144,9 +125,6 @@ public class Vines extends MultiDirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		vineImageCache.put(this.data, img);
-		
 		return img;
 	}
 }
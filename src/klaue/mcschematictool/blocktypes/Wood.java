@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 import klaue.mcschematictool.blocktypes.TreeType;
@@ -18,9 +17,6 @@ import klaue.mcschematictool.blocktypes.TreeType;
  *
  */
 public class Wood extends DirectionalBlock {
-	private static HashMap<TreeType, HashMap<Direction, BufferedImage> > woodImageCache = new HashMap<TreeType, HashMap<Direction, BufferedImage> >();
-	private static double woodZoomCache = -1;
-	
 	private TreeType treeType = TreeType.OAK;
 	
 	/**
@@ -111,27 +107,9 @@ public class Wood extends DirectionalBlock {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (woodZoomCache != zoom) {
-			// reset cache
-			woodImageCache.clear();
-			woodZoomCache = zoom;
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = woodImageCache.get(this.treeType);
-			if (dirMap != null) {
-				img = dirMap.get(this.treeType);
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -146,15 +124,6 @@ public class Wood extends DirectionalBlock {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (woodImageCache.containsKey(this.treeType)) {
-			woodImageCache.get(this.treeType).put(this.direction, img);
-		} else {
-			HashMap<Direction, BufferedImage> dirMap = new HashMap<Direction, BufferedImage>();
-			dirMap.put(this.direction, img);
-			woodImageCache.put(this.treeType, dirMap);
-		}
-		
 		return img;
 	}
 
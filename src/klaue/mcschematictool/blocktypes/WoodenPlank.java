@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -11,9 +10,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class WoodenPlank extends Block {
-	private static HashMap<TreeType, BufferedImage> plankImageCache = new HashMap<TreeType, BufferedImage>();
-	private static double plankZoomCache = -1;
-	
 	private TreeType treeType = TreeType.OAK;
 	
 	/**
@@ -76,24 +72,9 @@ public class WoodenPlank extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (plankZoomCache != zoom) {
-			// reset cache
-			plankImageCache.clear();
-			plankZoomCache = zoom;
-		} else {
-			img = plankImageCache.get(this.treeType);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -104,9 +85,6 @@ public class WoodenPlank extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		plankImageCache.put(this.treeType, img);
-
 		return img;
 	}
 }
@@ -3,7 +3,6 @@ package klaue.mcschematictool.blocktypes;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -14,11 +13,6 @@ import klaue.mcschematictool.ImageProvider;
  *
  */
 public class WoodenSlab extends Block {
-	private static HashMap<TreeType, BufferedImage> lowerSlabImageCache = new HashMap<TreeType, BufferedImage>();
-	private static HashMap<TreeType, BufferedImage> upperSlabImageCache = new HashMap<TreeType, BufferedImage>();
-	private static HashMap<TreeType, BufferedImage> doubleslabImageCache = new HashMap<TreeType, BufferedImage>();
-	private static double slabZoomCache = -1;
-	
 	private TreeType treeType;
 	private boolean isDoubleSlab;
 	private boolean isUpperHalf;
@@ -155,34 +149,9 @@ public class WoodenSlab extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (slabZoomCache != zoom) {
-			// reset cache
-			lowerSlabImageCache.clear();
-			upperSlabImageCache.clear();
-			doubleslabImageCache.clear();
-			slabZoomCache = zoom;
-		} else {
-			if (this.isDoubleSlab) {
-				img = doubleslabImageCache.get(this.treeType);
-			} else {
-				if (this.isUpperHalf) {
-					img = upperSlabImageCache.get(this.treeType);
-				} else {
-					img = lowerSlabImageCache.get(this.treeType);
-				}
-			}
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		byte typedata = (byte) (this.data & 0x7);
 		img = ImageProvider.getImageByBlockOrItemID((short)5, typedata); // get image of wooden planks, the type data is compatible
@@ -214,17 +183,6 @@ public class WoodenSlab extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		if (this.isDoubleSlab) {
-			doubleslabImageCache.put(this.treeType, img);
-		} else {
-			if (this.isUpperHalf) {
-				upperSlabImageCache.put(this.treeType, img);
-			} else {
-				lowerSlabImageCache.put(this.treeType, img);
-			}
-		}
-
 		return img;
 	}
 }
@@ -1,7 +1,6 @@
 package klaue.mcschematictool.blocktypes;
 
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import klaue.mcschematictool.ImageProvider;
 
@@ -22,9 +21,6 @@ public class Wool extends Block {
 		PURPLE, BLUE, BROWN, DARKGREEN, RED, BLACK
 	};
 	
-	private static HashMap<WoolColor, BufferedImage> woolImageCache = new HashMap<WoolColor, BufferedImage>();
-	private static double woolZoomCache = -1;
-	
 	private WoolColor color = WoolColor.WHITE;
 	
 	/**
@@ -118,24 +114,9 @@ public class Wool extends Block {
 	}
 	
 	@Override
-	public synchronized BufferedImage getImage(double zoom) {
-		if (!ImageProvider.isActivated()) return null;
-		if (zoom <= 0) return null;
-		
+	protected BufferedImage createImage(double zoom) {
 		BufferedImage img = null;
 		
-		if (woolZoomCache != zoom) {
-			// reset cache
-			woolImageCache.clear();
-			woolZoomCache = zoom;
-		} else {
-			img = woolImageCache.get(this.color);
-			if (img != null) {
-				return img;
-			}
-		}
-		
-		// image not in cache, make new
 		// get image from imageprovider
 		img = ImageProvider.getImageByBlockOrItemID(this.id, this.data);
 		
@@ -146,9 +127,6 @@ public class Wool extends Block {
 			img = ImageProvider.zoom(zoom, img);
 		}
 
-		// save image to cache
-		woolImageCache.put(this.color, img);
-		
 		return img;
 	}
 }
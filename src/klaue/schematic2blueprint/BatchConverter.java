@@ -0,0 +1,329 @@
+package klaue.schematic2blueprint;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import klaue.mcschematictool.GifExporter;
+import klaue.mcschematictool.ImageGridStack;
+import klaue.mcschematictool.ImageProvider;
+import klaue.mcschematictool.LayerExporter;
+import klaue.mcschematictool.SchematicReader;
+import klaue.mcschematictool.SliceStack;
+
+/**
+ * Converts many schematics to blueprints without a GUI. Every file is read, trimmed, rendered and exported (a PNG per layer, an
+ * animated gif and a Builders text file) on a pool of worker threads, one file per worker. The time needed for every step is printed
+ * for each file, followed by a summary.<br>
+ * Usage: see printUsage() or start without arguments
+ * @author klaue
+ */
+public class BatchConverter {
+	private File outputDir = null;
+	private double zoom = 1;
+	private boolean png = false;
+	private boolean gif = false;
+	private boolean txt = false;
+	private boolean count = false;
+	private boolean trim = true;
+	private int delay = 1000;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private Color background = Color.WHITE;
+	private Color gridLines = Color.BLACK;
+	private List<File> files = new ArrayList<File>();
+
+	/**
+	 * @param args the command line arguments, see printUsage()
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		BatchConverter converter = new BatchConverter();
+		try {
+			converter.parseArguments(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			printUsage();
+			System.exit(2);
+		} catch (IOException e) {
+			System.err.println("Could not list schematics: " + e.getLocalizedMessage());
+			System.exit(2);
+		}
+		System.exit(converter.run() ? 0 : 1);
+	}
+
+	/**
+	 * Prints the command line arguments
+	 */
+	public static void printUsage() {
+		System.err.println("Usage: java -cp Schematic2Blueprint.jar klaue.schematic2blueprint.BatchConverter [options] <schematic|directory|glob>...");
+		System.err.println("  A directory means all .schematic files in it, a glob like schematics/*.schematic all matching files");
+		System.err.println("Options:");
+		System.err.println("  -out <dir>      write everything into this directory (default: next to each schematic)");
+		System.err.println("  -png            write a PNG per layer into the directory <name>_layers");
+		System.err.println("  -gif            write an animated gif <name>.gif");
+		System.err.println("  -txt            write a Builders text file <name>.txt");
+		System.err.println("  -count          write the number of blocks needed per material into <name>_blocks.txt");
+		System.err.println("                  (if none of -png, -gif, -txt and -count is given, all but -count are written)");
+		System.err.println("  -zoom <zoom>    zoom of the images, 1 means 16 pixels per block (default 1)");
+		System.err.println("  -delay <ms>     time each layer is shown in the gif (default 1000)");
+		System.err.println("  -notrim         don't cut off the air around the schematic");
+		System.err.println("  -threads <n>    number of files converted at the same time (default: number of processors)");
+	}
+
+	/**
+	 * Reads the command line arguments
+	 * @param args the arguments
+	 * @throws IllegalArgumentException if the arguments are not valid
+	 * @throws IOException if a directory could not be listed
+	 */
+	void parseArguments(String[] args) throws IOException {
+		for (int i = 0; i < args.length; ++i) {
+			String arg = args[i];
+			if (arg.equals("-out")) {
+				this.outputDir = new File(getValue(args, ++i, arg));
+			} else if (arg.equals("-png")) {
+				this.png = true;
+			} else if (arg.equals("-gif")) {
+				this.gif = true;
+			} else if (arg.equals("-txt")) {
+				this.txt = true;
+			} else if (arg.equals("-count")) {
+				this.count = true;
+			} else if (arg.equals("-notrim")) {
+				this.trim = false;
+			} else if (arg.equals("-zoom")) {
+				this.zoom = Double.parseDouble(getValue(args, ++i, arg));
+				if (this.zoom <= 0) throw new IllegalArgumentException("Zoom has to be positive");
+			} else if (arg.equals("-delay")) {
+				this.delay = Integer.parseInt(getValue(args, ++i, arg));
+			} else if (arg.equals("-threads")) {
+				this.threads = Integer.parseInt(getValue(args, ++i, arg));
+				if (this.threads < 1) throw new IllegalArgumentException("Need at least one thread");
+			} else if (arg.startsWith("-")) {
+				throw new IllegalArgumentException("Unknown option " + arg);
+			} else {
+				addFiles(arg);
+			}
+		}
+		if (!this.png && !this.gif && !this.txt && !this.count) {
+			this.png = true;
+			this.gif = true;
+			this.txt = true;
+		}
+		if (this.files.isEmpty()) throw new IllegalArgumentException("No schematics given");
+		if (this.outputDir != null && !this.outputDir.isDirectory() && !this.outputDir.mkdirs()) {
+			throw new IllegalArgumentException("Could not create output directory " + this.outputDir);
+		}
+	}
+
+	private static String getValue(String[] args, int i, String option) {
+		if (i >= args.length) throw new IllegalArgumentException("Missing value for " + option);
+		return args[i];
+	}
+
+	/**
+	 * Adds a schematic, all schematics of a directory or all files matching a glob in the file name
+	 * @param arg the argument
+	 * @throws IOException
+	 */
+	private void addFiles(String arg) throws IOException {
+		File file = new File(arg);
+		String glob = null;
+		if (file.isDirectory()) {
+			glob = "*.schematic";
+		} else if (file.getName().contains("*") || file.getName().contains("?") || file.getName().contains("[")) {
+			glob = file.getName();
+			file = file.getAbsoluteFile().getParentFile();
+		} else if (file.isFile()) {
+			this.files.add(file);
+			return;
+		} else {
+			throw new IllegalArgumentException("No such file: " + arg);
+		}
+
+		List<File> matches = new ArrayList<File>();
+		DirectoryStream<Path> dir = Files.newDirectoryStream(file.toPath(), glob);
+		try {
+			for (Path path : dir) {
+				if (Files.isRegularFile(path)) matches.add(path.toFile());
+			}
+		} finally {
+			dir.close();
+		}
+		if (matches.isEmpty()) System.err.println("No schematics found for " + arg);
+		Collections.sort(matches);
+		this.files.addAll(matches);
+	}
+
+	/**
+	 * Converts all files
+	 * @return true if all files were converted
+	 */
+	boolean run() {
+		try {
+			ImageProvider.initialize();
+		} catch (Exception e) {
+			System.err.println("Could not load the block images: " + e.getLocalizedMessage());
+			return false;
+		}
+
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(this.threads, this.files.size()));
+		CompletionService<Result> completion = new ExecutorCompletionService<Result>(pool);
+		for (final File file : this.files) {
+			completion.submit(new Callable<Result>() {
+				@Override
+				public Result call() {
+					return convert(file);
+				}
+			});
+		}
+
+		int failed = 0;
+		long layers = 0;
+		long[] stepNanos = new long[4];
+		for (int i = 0; i < this.files.size(); ++i) {
+			Result result;
+			try {
+				result = completion.take().get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (ExecutionException e) {
+				throw new RuntimeException(e.getCause()); // convert() catches everything it expects
+			}
+			System.out.println(result);
+			if (result.error != null) {
+				++failed;
+			} else {
+				layers += result.layers;
+				for (int step = 0; step < stepNanos.length; ++step) {
+					stepNanos[step] += result.nanos[step];
+				}
+			}
+		}
+		pool.shutdown();
+
+		long totalNanos = System.nanoTime() - start;
+		int converted = this.files.size() - failed;
+		System.out.println();
+		System.out.println("Converted " + converted + " of " + this.files.size() + " schematics (" + layers + " layers) in "
+				+ millis(totalNanos) + " ms with " + Math.min(this.threads, this.files.size()) + " threads, "
+				+ String.format("%.2f", converted / (totalNanos / 1e9)) + " schematics/s");
+		System.out.println("Time spent in all threads: read " + millis(stepNanos[0]) + " ms, trim " + millis(stepNanos[1])
+				+ " ms, prepare " + millis(stepNanos[2]) + " ms, render and export " + millis(stepNanos[3]) + " ms");
+		if (failed > 0) System.out.println(failed + " schematics could not be converted");
+		return failed == 0;
+	}
+
+	/**
+	 * Converts one file. Called by the workers
+	 * @param file the schematic
+	 * @return the result, never throws
+	 */
+	Result convert(File file) {
+		Result result = new Result(file);
+		try {
+			String name = file.getName();
+			if (name.lastIndexOf('.') > 0) name = name.substring(0, name.lastIndexOf('.'));
+			File dir = (this.outputDir == null) ? file.getAbsoluteFile().getParentFile() : this.outputDir;
+
+			long time = System.nanoTime();
+			SliceStack stack = SchematicReader.readSchematicsFile(file);
+			time = result.step(0, time);
+			if (this.trim) stack.trim();
+			time = result.step(1, time);
+			ImageGridStack images = null;
+			if (this.png || this.gif) {
+				images = stack.getImages(this.zoom, true);
+				result.layers = images.getStackSize();
+			}
+			time = result.step(2, time);
+
+			// every file has its own worker, so the exporters don't need more than one thread
+			if (this.png) {
+				File layerDir = new File(dir, name + "_layers");
+				if (!layerDir.isDirectory() && !layerDir.mkdirs()) throw new IOException("Could not create " + layerDir);
+				new LayerExporter(images, this.background, this.gridLines, 1, 1).export(layerDir, name);
+			}
+			if (this.gif) {
+				new GifExporter(images, this.background, this.gridLines, 1, 1).export(new File(dir, name + ".gif"), this.delay);
+			}
+			if (this.txt) {
+				stack.exportToTextFile(name, new File(dir, name + ".txt"));
+			}
+			if (this.count) {
+				writeBlockCount(stack, new File(dir, name + "_blocks.txt"));
+			}
+			result.step(3, time);
+		} catch (Exception e) {
+			result.error = e.getClass().getSimpleName() + ": " + e.getLocalizedMessage();
+		} catch (OutOfMemoryError e) {
+			result.error = "Ran out of memory, try a lower zoom, less threads or more memory (-Xmx)";
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the number of blocks needed per material, one line per material
+	 * @param stack the schematic
+	 * @param file the text file
+	 * @throws FileNotFoundException if the file could not be written
+	 */
+	private static void writeBlockCount(SliceStack stack, File file) throws FileNotFoundException {
+		PrintWriter writer = new PrintWriter(file);
+		try {
+			for (Map.Entry<String, Integer> entry : stack.countBlocks(true).getAmountsByName().entrySet()) {
+				writer.println(entry.getValue() + " x " + entry.getKey());
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1000000;
+	}
+
+	/**
+	 * The timings of a converted file
+	 */
+	static class Result {
+		final File file;
+		final long[] nanos = new long[4]; // read, trim, prepare (layers and redstone wires), render and export
+		int layers = 0;
+		String error = null;
+
+		Result(File file) {
+			this.file = file;
+		}
+
+		long step(int step, long start) {
+			long now = System.nanoTime();
+			this.nanos[step] = now - start;
+			return now;
+		}
+
+		@Override
+		public String toString() {
+			if (this.error != null) return this.file.getName() + ": FAILED, " + this.error;
+			return this.file.getName() + ": read " + millis(this.nanos[0]) + " ms, trim " + millis(this.nanos[1]) + " ms, prepare "
+					+ millis(this.nanos[2]) + " ms, render and export " + millis(this.nanos[3]) + " ms, " + this.layers + " layers";
+		}
+	}
+}
@@ -6,7 +6,9 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
 import java.awt.print.PrinterException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.TreeSet;
 import java.util.Vector;
@@ -27,16 +29,10 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.TableModel;
 import javax.swing.table.TableRowSorter;
 
+import klaue.mcschematictool.BlockCount;
 import klaue.mcschematictool.ImageProvider;
 import klaue.mcschematictool.NameProvider;
-import klaue.mcschematictool.Slice;
 import klaue.mcschematictool.SliceStack;
-import klaue.mcschematictool.blocktypes.Bed;
-import klaue.mcschematictool.blocktypes.Block;
-import klaue.mcschematictool.blocktypes.Door;
-import klaue.mcschematictool.blocktypes.Furnace;
-import klaue.mcschematictool.blocktypes.PoweredRail;
-import klaue.mcschematictool.blocktypes.RedstoneTorch;
 
 /**
  * @author klaue
@@ -173,76 +169,28 @@ public class BlockCounterDialog extends JDialog {
 	}
 	
 	private TreeSet<MapEntry> countBlocks() {
-		TreeSet<MapEntry> blockSet = new TreeSet<MapEntry>();
-		for (int i = 0; i < this.sliceStack.getHeight(); i++) {
-			Slice s = this.sliceStack.getSlice(i);
-			for (int j = 0; j < s.getWidth(); j++) {
-				for (int k = 0; k < s.getHeight(); k++) {
-					Block b = s.getBlockAt(j, k);
-					
-					if (b.getId() == 0) { // air
-						continue;
-					}
-					
-					short id = b.getId();
-					byte data = b.getData();
-					
-					// only count one block for: bed, door, furnace (burning and off), reds. torch (burn. and off), redst. ore (glowing and not),
-					// powered rail (on, off), redst. repeater (on, off), redst. wire (on, off) and sign (wall, ground)
-					if (b.isBed()) {
-						if (((Bed)b).isFoot()) continue; // only save head as "Bed"
-						id = (short)355; // item id
-					} else if (b.isDoor()) {
-						Door door = (Door)b;
-						if (door.isBottomHalf()) continue; // only sabe top half as door
-						if (door.getDoorType() == Door.DoorType.IRON) {
-							id = (short)324; // item id
-						} else {
-							id = (short)330; // item id
-						}
-					} else if (b.isFurnace() && ((Furnace)b).isOn()) {
-						id = (short)61; // furnace off
-					} else if (b.isRedstoneTorch() && !((RedstoneTorch)b).isOn()) {
-						id = (short)76; // burning rs torch
-					} else if (id == 74) { // glowing redstone ore
-						id = (short)73; // redstone ore (w/o glowing)
-					} else if (b.isPoweredRail() && !((PoweredRail)b).isOn()) {
-						data = -1; // default value
-					} else if (b.isRepeater()) {
-						id = (short)356; // item id
-					} else if (b.isRedstoneWire()) {
-						id = (short)331; // item id of redstone
-					} else if (b.isTripwire()) {
-						id = (short)287; // item id of string
-					} else if (b.isSign()) {
-						// both wall and freestanding sign replaced by item id
-						id = (short)323;
-					}
-					
-					
-					// add new entry or increase number of old
-					// for performance reasons, the icon is only added for new etries
-					MapEntry entry = new MapEntry();
-					entry.name = NameProvider.getNameOfBlockOrItem(id, data);
-					Iterator<MapEntry> iter = blockSet.iterator();
-					while (iter.hasNext()) {
-						MapEntry e = iter.next();
-						if (e.equals(entry)) {
-							e.amount = e.amount + 1;
-							iter = blockSet.iterator(); // reset to start for if below 
-							break;
-						}
-					}
-					if (!iter.hasNext()) {
-						// new entry
-						entry.id = id;
-						entry.image = ImageProvider.zoom(1.5, ImageProvider.getImageByBlockOrItemID(id, data));
-						blockSet.add(entry);
-					}
-				}
+		BlockCount counts = this.sliceStack.countBlocks(true);
+		
+		// the name and icon are only looked up once per id and data, blocks with the same name are counted together
+		int[] keys = counts.getKeys();
+		Arrays.sort(keys);
+		HashMap<String, MapEntry> byName = new HashMap<String, MapEntry>();
+		for (int key : keys) {
+			short id = BlockCount.getId(key);
+			byte data = BlockCount.getData(key);
+			String name = NameProvider.getNameOfBlockOrItem(id, data);
+			MapEntry entry = byName.get(name);
+			if (entry == null) {
+				entry = new MapEntry();
+				entry.name = name;
+				entry.id = id;
+				entry.amount = 0;
+				entry.image = ImageProvider.zoom(1.5, ImageProvider.getImageByBlockOrItemID(id, data));
+				byName.put(name, entry);
 			}
+			entry.amount += counts.getAmount(key);
 		}
-		return blockSet;
+		return new TreeSet<MapEntry>(byName.values());
 	}
 }
 
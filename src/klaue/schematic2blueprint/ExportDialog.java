@@ -6,12 +6,10 @@ import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.Hashtable;
 
-import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -28,11 +26,11 @@ import javax.swing.JSlider;
 import javax.swing.JTextField;
 import javax.swing.plaf.ColorUIResource;
 
+import klaue.mcschematictool.GifExporter;
 import klaue.mcschematictool.ImageGridStack;
+import klaue.mcschematictool.LayerExporter;
 import klaue.mcschematictool.SliceStack;
 
-import com.fmsware.AnimatedGifEncoder;
-
 /**
  * @author klaue
  *
@@ -295,30 +293,19 @@ public class ExportDialog extends JDialog {
 				grids = this.sliceStack.getImages(zoom, true);
 			}
 		
-			int numberLength = Integer.toString(grids.getStackSize()).length();
-			for (int i = 0; i < grids.getStackSize(); ++i) {
-				StringBuffer imgName = new StringBuffer(Integer.toString(i));
-				while (imgName.length() < numberLength) {
-					imgName.insert(0, "0");
-				}
-				imgName.insert(0, this.fileNamePrefix).append(".png");
-				
-				BufferedImage img = null;
-				if (this.chkTransparent.isSelected()) {
-					img = grids.getGridAtLevel(i).exportImage(null, Color.BLACK);
-				} else {
-					img = grids.getGridAtLevel(i).exportImage(this.btnColorBack.getBackground(), this.btnColorLine.getBackground());
-				}
-				
-				File file = new File(dir, imgName.toString());
-				try {
-					ImageIO.write(img, "png", file);
-				} catch (IOException e) {
-					JOptionPane.showMessageDialog(this, "Error while saving image " + imgName.toString() + ":\n"
-							+ e.getLocalizedMessage(), "Could not save", JOptionPane.ERROR_MESSAGE);
-					this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
-					return;
-				}
+			// the layers are rendered in parallel, written one after another
+			LayerExporter exporter;
+			if (this.chkTransparent.isSelected()) {
+				exporter = new LayerExporter(grids, null, Color.BLACK);
+			} else {
+				exporter = new LayerExporter(grids, this.btnColorBack.getBackground(), this.btnColorLine.getBackground());
+			}
+			try {
+				exporter.export(dir, this.fileNamePrefix);
+			} catch (IOException e) {
+				JOptionPane.showMessageDialog(this, "Error while saving image " + e.getLocalizedMessage(), "Could not save", JOptionPane.ERROR_MESSAGE);
+				this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
+				return;
 			}
 			JOptionPane.showMessageDialog(this, "All images successfully saved!", "Yay", JOptionPane.INFORMATION_MESSAGE);
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
@@ -361,18 +348,13 @@ public class ExportDialog extends JDialog {
 				this.delayField.setText(Integer.toString(millis));
 			}
 			
-			AnimatedGifEncoder encoder = new AnimatedGifEncoder();
-			encoder.setDelay(millis);
-			encoder.setRepeat(0);
-			encoder.start(target.getAbsolutePath());
-			encoder.setTransparent(null);
-			
-			for (int i = 0; i < grids.getStackSize(); ++i) {
-				BufferedImage img = grids.getGridAtLevel(i).exportImage(this.btnColorBack.getBackground(), this.btnColorLine.getBackground());
-				
-				encoder.addFrame(img);
+			try {
+				new GifExporter(grids, this.btnColorBack.getBackground(), this.btnColorLine.getBackground()).export(target, millis);
+			} catch (IOException e) {
+				JOptionPane.showMessageDialog(this, "Error while saving gif: " + e.getLocalizedMessage(), "Could not save", JOptionPane.ERROR_MESSAGE);
+				this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
+				return;
 			}
-			encoder.finish();
 			JOptionPane.showMessageDialog(this, "All images successfully saved!", "Yay", JOptionPane.INFORMATION_MESSAGE);
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
 			this.dispose();
@@ -15,14 +15,16 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
 import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Hashtable;
+import java.util.concurrent.ExecutionException;
 
-import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -38,17 +40,21 @@ import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JSlider;
 import javax.swing.KeyStroke;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.UIManager;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import klaue.mcschematictool.ImageGrid;
 import klaue.mcschematictool.ImageGridStack;
 import klaue.mcschematictool.ImageProvider;
+import klaue.mcschematictool.ProgressListener;
 import klaue.mcschematictool.SchematicReader;
 import klaue.mcschematictool.SliceStack;
 import klaue.mcschematictool.exceptions.ClassicNotSupportedException;
@@ -67,6 +73,11 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 	Color gridLineColor = Color.BLACK;
 	Color markColor = Color.RED;
 	int currentLayer = 0;
+	StackWorker worker = null;
+	
+	// layers kept in memory, the others are read again when they are shown
+	static final int RESIDENT_SLICES = 16;
+	static final int RESIDENT_GRIDS = 8;
 	
 	MyAlmightyListener myAlmightyListener;
 	
@@ -76,6 +87,7 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 
 	JButton btnRotateCCW;
 	JButton btnRotateCW;
+	JButton btnCancel;
 	
 	JSlider sldZoom = new JSlider();
 	JSlider sldLayer = new JSlider(SwingConstants.VERTICAL);
@@ -87,7 +99,9 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 	JPanel pnlGrid = new JPanel();
 	JScrollPane scrGrid;
 	
+	JPanel pnlStatus = new JPanel();
 	JLabel lblSize = new JLabel();
+	JProgressBar prgWork = new JProgressBar(0, 100);
 	
 	MainFrame() {
 		try {
@@ -234,6 +248,9 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 		this.btnRotateCCW = new JButton(new ImageIcon(ClassLoader.getSystemResource("klaue/schematic2blueprint/CCW.gif")));
 		this.btnRotateCCW.setActionCommand("RCCW");
 		this.btnRotateCCW.addActionListener(this);
+		this.btnCancel = new JButton("Cancel");
+		this.btnCancel.setActionCommand("CANCEL");
+		this.btnCancel.addActionListener(this);
 		
 		// init sliders
 		this.sldZoom.setBorder(BorderFactory.createTitledBorder("Zoom"));
@@ -290,11 +307,22 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 		this.pnlSchematic.add(this.sldLayer);
 		
 		this.lblSize.setAlignmentX(SwingConstants.LEFT);
+		
+		// progress of loading and rotating, only visible while working
+		this.prgWork.setStringPainted(true);
+		this.prgWork.setVisible(false);
+		this.btnCancel.setVisible(false);
+		this.pnlStatus.setLayout(new BoxLayout(this.pnlStatus, BoxLayout.X_AXIS));
+		this.pnlStatus.add(this.lblSize);
+		this.pnlStatus.add(Box.createHorizontalGlue());
+		this.pnlStatus.add(this.prgWork);
+		this.pnlStatus.add(Box.createHorizontalStrut(5));
+		this.pnlStatus.add(this.btnCancel);
 
 		this.pnlAll.add(this.pnlControl);
 		this.pnlAll.add(Box.createVerticalStrut(5));
 		this.pnlAll.add(this.pnlSchematic);
-		this.pnlAll.add(this.lblSize);
+		this.pnlAll.add(this.pnlStatus);
 		this.pnlAll.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 		this.add(this.pnlAll);
 
@@ -312,85 +340,159 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 		this.printMenu.setEnabled(enable);
 	}
 
+	/**
+	 * Starts loading or rotating in the background. The controls are disabled and the progress is shown until it is done
+	 * @param newWorker the worker
+	 */
+	private void startWorker(StackWorker newWorker) {
+		this.worker = newWorker;
+		enableSchematicControls(false);
+		this.miOpen.setEnabled(false);
+		this.prgWork.setValue(0);
+		this.prgWork.setIndeterminate(true);
+		this.prgWork.setString(newWorker.isLoading() ? "Reading file" : "Rotating");
+		this.prgWork.setVisible(true);
+		this.btnCancel.setEnabled(true);
+		this.btnCancel.setVisible(true);
+		this.pnlStatus.revalidate();
+		this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+		
+		newWorker.addPropertyChangeListener(new PropertyChangeListener() {
+			@Override
+			public void propertyChange(PropertyChangeEvent evt) {
+				if ("progress".equals(evt.getPropertyName())) {
+					MainFrame.this.prgWork.setIndeterminate(false);
+					MainFrame.this.prgWork.setString(null); // percentage
+					MainFrame.this.prgWork.setValue((Integer)evt.getNewValue());
+				}
+			}
+		});
+		newWorker.execute();
+	}
+	
+	/**
+	 * Called when the worker is done, successful or not
+	 */
+	void workerDone() {
+		StackWorker finished = this.worker;
+		this.worker = null;
+		this.prgWork.setVisible(false);
+		this.btnCancel.setVisible(false);
+		this.miOpen.setEnabled(true);
+		this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
+		
+		ImageGridStack newImages = null;
+		try {
+			newImages = finished.get();
+		} catch (InterruptedException e) {
+			// can't happen, the worker is done
+		} catch (ExecutionException e) {
+			showWorkerError(e.getCause());
+		}
+		
+		if (newImages == null) {
+			// cancelled or failed, the old stack is still there (a rotation has been turned back by the worker)
+			if (this.stack != null) {
+				enableSchematicControls(true);
+				if (this.images.getStackSize() == 1) this.sldLayer.setEnabled(false);
+				showCurrentLayer();
+			}
+			return;
+		}
+		if (newImages.getStackSize() == 0) {
+			JOptionPane.showMessageDialog(null, "The schematic contains nothing but air", "Empty schematic", JOptionPane.WARNING_MESSAGE);
+			if (this.stack != null) {
+				enableSchematicControls(true);
+				showCurrentLayer();
+			}
+			return;
+		}
+		
+		this.stack = finished.stack;
+		this.images = newImages;
+		this.images.setGridColor(this.gridLineColor); // in case they were changed while working
+		this.images.setMarkColor(this.markColor);
+		this.currentZoom = finished.zoom;
+		if (finished.isLoading() && finished.hasErrorHappened) {
+			JOptionPane.showMessageDialog(null, "There were some faulty blocks in the schematic. They were replaced with air.", "Warning", JOptionPane.WARNING_MESSAGE);
+		}
+		enableSchematicControls(true);
+		if (this.currentLayer >= this.images.getStackSize()) this.currentLayer = this.images.getStackSize() - 1;
+		this.sldLayer.setMaximum(this.images.getStackSize());
+		if (this.images.getStackSize() == 1) this.sldLayer.setEnabled(false);
+		showCurrentLayer();
+		if (finished.isLoading()) System.gc();
+	}
+	
+	/**
+	 * Shows the current layer of the current images. The grid is taken from the stack again, because the stack creates a new one
+	 * if the shown one was dropped to save memory
+	 */
+	void showCurrentLayer() {
+		showGrid(this.images.getGridAtLevel(this.currentLayer));
+		this.lblSize.setText("Size: " + this.stack.getLength() + " x " + this.stack.getWidth());
+	}
+	
+	/**
+	 * Shows the given grid
+	 * @param grid the grid
+	 */
+	void showGrid(ImageGrid grid) {
+		this.pnlGrid.removeAll();
+		this.pnlGrid.add(grid, this.defaultContraints);
+		this.pnlGrid.repaint();
+		this.scrGrid.validate();
+	}
+	
+	private void showWorkerError(Throwable e) {
+		if (e instanceof IOException) {
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(null, "Could not read file", "Error", JOptionPane.ERROR_MESSAGE);
+		} else if (e instanceof ClassicNotSupportedException) {
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(null, "Classic file format is not supported", "Classic not supported", JOptionPane.ERROR_MESSAGE);
+		} else if (e instanceof ParseException) {
+			e.printStackTrace();
+			// Shenanigans to get a multiline option pane
+	    	String message = "Could not parse schematics file:\n" + e.getMessage();
+	    	if (message.length() > 503) message = message.substring(0, 500) + "...";
+	    	JOptionPane cleanupPane = new JOptionPane(message, JOptionPane.ERROR_MESSAGE) {
+		    		@Override
+					public int getMaxCharactersPerLineCount() {
+		    			return 100; // this is unimplemented in normal joptionpane for whatever reason
+		    		}
+		    	};
+	    	cleanupPane.createDialog(null, "Invalid file").setVisible(true);
+		} else if (e instanceof OutOfMemoryError) {
+			System.gc();
+			JOptionPane.showMessageDialog(null, "Ran out of memory while trying to open schematic", "Out of Memory", JOptionPane.ERROR_MESSAGE);
+		} else {
+			e.printStackTrace();
+			JOptionPane.showMessageDialog(null, "Error: " + e, "Error", JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
 	@Override
 	public void actionPerformed(ActionEvent arg0) {
 		if (arg0.getActionCommand().equals("OPEN")) {
-	    	this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-	    	
 			int returnVal = this.fc.showOpenDialog(this);
 
 		    if (returnVal == JFileChooser.APPROVE_OPTION) {
 		    	File file = this.fc.getSelectedFile();
-		    	try {
-					this.stack = SchematicReader.readSchematicsFile(file);
-					this.stack.trim();
-					double zoom = ((double)this.sldZoom.getValue() / 10);
-					this.currentZoom = zoom;
-					this.images = this.stack.getImages(zoom, true);
-					this.images.setGridColor(this.gridLineColor);
-					this.images.setMarkColor(this.markColor);
-					if (SchematicReader.hasErrorHappened()) {
-						JOptionPane.showMessageDialog(null, "There were some faulty blocks in the schematic. They were replaced with air.", "Warning", JOptionPane.WARNING_MESSAGE);
-					}
-				} catch (IOException e) {
-					e.printStackTrace();
-			    	this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
-					JOptionPane.showMessageDialog(null, "Could not read file", "Error", JOptionPane.ERROR_MESSAGE);
-					return;
-				} catch (ClassicNotSupportedException e) {
-					e.printStackTrace();
-			    	this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
-					JOptionPane.showMessageDialog(null, "Classic file format is not supported", "Classic not supported", JOptionPane.ERROR_MESSAGE);
-					return;
-				} catch (ParseException e) {
-					e.printStackTrace();
-			    	this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
-					// Shenanigans to get a multiline option pane
-			    	String message = "Could not parse schematics file:\n" + e.getMessage();
-			    	if (message.length() > 503) message = message.substring(0, 500) + "...";
-			    	JOptionPane cleanupPane = new JOptionPane(message, JOptionPane.ERROR_MESSAGE) {
-				    		@Override
-							public int getMaxCharactersPerLineCount() {
-				    			return 100; // this is unimplemented in normal joptionpane for whatever reason
-				    		}
-				    	};
-			    	cleanupPane.createDialog(null, "Invalid file").setVisible(true);
-					return;
-				} catch (OutOfMemoryError e) {
-					System.gc();
-					this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
-					JOptionPane.showMessageDialog(null, "Ran out of memory while trying to open schematic", "Out of Memory", JOptionPane.ERROR_MESSAGE);
-					return;
-				}
-				enableSchematicControls(true);
-				if (this.currentLayer >= this.images.getStackSize()) this.currentLayer = this.images.getStackSize() - 1;
-				this.sldLayer.setMaximum(this.images.getStackSize());
-				if (this.images.getStackSize() == 1) this.sldLayer.setEnabled(false);
-				
-				this.pnlGrid.removeAll();
-				this.pnlGrid.add(this.images.getGridAtLevel(this.currentLayer), this.defaultContraints);
-				this.pnlGrid.repaint();
-				this.scrGrid.validate();
-				this.lblSize.setText("Size: " + this.stack.getLength() + " x " + this.stack.getWidth());
-		    	System.gc();
+		    	double zoom = ((double)this.sldZoom.getValue() / 10);
+		    	startWorker(new StackWorker(file, zoom));
 		    }
-		    this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
 		} else if (arg0.getActionCommand().equals("RCCW") || arg0.getActionCommand().equals("RCW")) {
-			this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
-			if (arg0.getActionCommand().equals("RCCW")) {
-				this.stack.turnCCW();
-			} else {
-				this.stack.turnCW();
-			}
-			double zoom = ((double)this.sldZoom.getValue() / 10);
-			this.images = this.stack.getImages(zoom, true);
-			
+			// the slices are turned in place, so the old grid must not be painted while that happens
 			this.pnlGrid.removeAll();
-			this.pnlGrid.add(this.images.getGridAtLevel(this.currentLayer), this.defaultContraints);
 			this.pnlGrid.repaint();
-			this.scrGrid.validate();
-			this.lblSize.setText("Size: " + this.stack.getLength() + " x " + this.stack.getWidth());
-			this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
+			double zoom = ((double)this.sldZoom.getValue() / 10);
+			startWorker(new StackWorker(this.stack, arg0.getActionCommand().equals("RCW"), zoom));
+		} else if (arg0.getActionCommand().equals("CANCEL")) {
+			if (this.worker != null) {
+				this.worker.cancelRequested = true;
+				this.btnCancel.setEnabled(false);
+			}
 		} else if (arg0.getActionCommand().equals("EXPSINGLE")) {
 			JFileChooser fc = new JFileChooser();
 			
@@ -409,9 +511,8 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 						if (reply != JOptionPane.YES_OPTION) return;
 					}
 					try {
-						BufferedImage img = this.images.getGridAtLevel(this.currentLayer).exportImage(null, this.gridLineColor);
 						try {
-							ImageIO.write(img, "png", f);
+							this.images.getGridAtLevel(this.currentLayer).exportPNG(f, null, this.gridLineColor);
 						} catch (IOException e) {
 							JOptionPane.showMessageDialog(this, "Error while saving image " + f.getName().toString() + ":\n"
 									+ e.getLocalizedMessage(), "Could not save", JOptionPane.ERROR_MESSAGE);
@@ -466,7 +567,7 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 				this.gridLineColor = newColor;
 				if (this.images != null) {
 					this.images.setGridColor(newColor);
-					this.pnlGrid.repaint();
+					showCurrentLayer();
 				}
 			}
 		} else if (arg0.getActionCommand().equals("COLOR_MARK")) {
@@ -475,7 +576,7 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 				this.markColor = newColor;
 				if (this.images != null) {
 					this.images.setMarkColor(newColor);
-					this.pnlGrid.repaint();
+					showCurrentLayer();
 				}
 			}
 		} else if (arg0.getActionCommand().equals("BLOCKCOUNTER")) {
@@ -525,9 +626,7 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 			
 			this.images.setZoom(zoom);
-
-			this.pnlGrid.repaint();
-			this.scrGrid.validate();
+			showCurrentLayer();
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
 		} else if (source == this.sldLayer){
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
@@ -541,6 +640,105 @@ public class MainFrame extends JFrame implements ActionListener, ChangeListener
 			this.setCursor(Cursor.getPredefinedCursor(Cursor.DEFAULT_CURSOR));
 		}
 	}
+	
+	/**
+	 * Loads a schematic or rotates the current one in the background, so the GUI stays responsive.<br>
+	 * Only the block data is read, the slices and their images are made when a layer is shown (see SliceStack and ImageGridStack),
+	 * so only the layer that is going to be shown is done here. Reading the file and trimming report their progress and are
+	 * cancelled right away, a cancelled rotation is turned back so the old images stay valid
+	 */
+	class StackWorker extends SwingWorker<ImageGridStack, Void> {
+		private File file; // null for rotation
+		private boolean rotateCW;
+		SliceStack stack;
+		double zoom;
+		private int firstLayer;
+		private Color gridColor;
+		private Color markColor;
+		boolean hasErrorHappened = false;
+		volatile boolean cancelRequested = false;
+		
+		/**
+		 * Loads a file
+		 * @param file the schematic
+		 * @param zoom the zoom of the images
+		 */
+		StackWorker(File file, double zoom) {
+			this.file = file;
+			this.zoom = zoom;
+			this.firstLayer = MainFrame.this.currentLayer;
+			this.gridColor = MainFrame.this.gridLineColor;
+			this.markColor = MainFrame.this.markColor;
+		}
+		
+		/**
+		 * Rotates a stack
+		 * @param stack the stack
+		 * @param rotateCW true for clockwise
+		 * @param zoom the zoom of the images
+		 */
+		StackWorker(SliceStack stack, boolean rotateCW, double zoom) {
+			this((File)null, zoom);
+			this.stack = stack;
+			this.rotateCW = rotateCW;
+		}
+		
+		boolean isLoading() {
+			return this.file != null;
+		}
+		
+		@Override
+		protected ImageGridStack doInBackground() throws Exception {
+			if (isLoading()) {
+				try {
+					// streamed, not memory mapped, so the file is not kept open (and locked on Windows) while it is shown
+					this.stack = SchematicReader.readSchematicsFileLazily(this.file, false, RESIDENT_SLICES, step(0, 70));
+				} catch (InterruptedIOException e) {
+					if (this.cancelRequested) return null;
+					throw e;
+				}
+				if (!this.stack.trim(step(70, 95))) return null;
+			} else {
+				this.stack.turn(this.rotateCW);
+			}
+			if (this.cancelRequested) {
+				if (!isLoading()) this.stack.turn(!this.rotateCW);
+				return null;
+			}
+			
+			ImageGridStack grids = new ImageGridStack(this.stack, this.zoom, true, RESIDENT_GRIDS);
+			grids.setGridColor(this.gridColor);
+			grids.setMarkColor(this.markColor);
+			if (this.stack.getHeight() > 0) {
+				// the layer that is shown first, so it's there right away
+				grids.getGridAtLevel(Math.min(this.firstLayer, this.stack.getHeight() - 1));
+			}
+			setProgress(100);
+			this.hasErrorHappened = SchematicReader.hasErrorHappened();
+			return grids;
+		}
+		
+		/**
+		 * Gets a listener that shows the progress of one step as a part of the progress bar and cancels the step if cancel was pressed
+		 * @param from the progress at the start of the step
+		 * @param to the progress at the end of the step
+		 * @return the listener
+		 */
+		private ProgressListener step(final int from, final int to) {
+			return new ProgressListener() {
+				@Override
+				public boolean progress(long done, long total) {
+					if (total > 0) setProgress(from + (int)((to - from) * Math.min(done, total) / total));
+					return !StackWorker.this.cancelRequested;
+				}
+			};
+		}
+		
+		@Override
+		protected void done() {
+			workerDone();
+		}
+	}
 }
 
 /**
@@ -8,9 +8,14 @@ import javax.swing.SwingUtilities;
  */
 public class Schematic2Blueprint {
 	/**
-	 * @param args
+	 * Starts the GUI, or the headless BatchConverter if there are arguments
+	 * @param args see BatchConverter.printUsage()
 	 */
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			BatchConverter.main(args);
+			return;
+		}
 		SwingUtilities.invokeLater(new Runnable() {
 			public void run() {
 				new MainFrame();